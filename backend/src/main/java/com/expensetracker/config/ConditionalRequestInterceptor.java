@@ -0,0 +1,107 @@
+package com.expensetracker.config;
+
+import com.expensetracker.entity.User;
+import com.expensetracker.service.DataVersionService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+
+/**
+ * Answers conditional GETs for user data from the user's data version alone. A matching
+ * If-None-Match gets a 304 before the controller, and therefore any repository, runs.
+ * The current date is part of the tag because some responses (current-month summary,
+ * default report range) depend on it.
+ * <p>
+ * Since nothing is looked up, a 304 here only says the user's data is unchanged, not that the
+ * URL names something the user can see. That is why only the user's own collections are
+ * registered in {@link WebConfig}, never single resources by id, and why {@code *} is never
+ * taken as a match: it asks whether the resource exists, which this check cannot tell.
+ * <p>
+ * Otherwise the tag is only remembered on the request. It is written once the status is known
+ * and before the body commits, by {@link ConditionalResponseAdvice} for serialized bodies and by
+ * {@link #preProcess} for streamed ones, so error responses never carry a tag.
+ */
+@Component
+public class ConditionalRequestInterceptor implements HandlerInterceptor, CallableProcessingInterceptor {
+
+    private static final String ETAG_ATTRIBUTE = ConditionalRequestInterceptor.class.getName() + ".etag";
+
+    private final DataVersionService dataVersionService;
+
+    public ConditionalRequestInterceptor(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async re-dispatches of streamed responses were already handled on the first pass
+        if (!"GET".equals(request.getMethod()) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            return true;
+        }
+
+        String etag = "\"" + dataVersionService.currentVersion(user.getId()) + "-" + LocalDate.now() + "\"";
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            writeValidators(response, etag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    // Runs on the async thread just before a streamed body starts writing
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse servletResponse = request.getNativeResponse(HttpServletResponse.class);
+        if (servletRequest != null && servletResponse != null) {
+            applyValidators(servletRequest, servletResponse);
+        }
+    }
+
+    /**
+     * Adds the tag remembered by {@link #preHandle} to a successful response.
+     */
+    public void applyValidators(HttpServletRequest request, HttpServletResponse response) {
+        if (request.getAttribute(ETAG_ATTRIBUTE) instanceof String etag
+                && response.getStatus() < 400 && !response.isCommitted()) {
+            writeValidators(response, etag);
+        }
+    }
+
+    private static void writeValidators(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // Allow caching but require revalidation; overrides Spring Security's no-store default
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
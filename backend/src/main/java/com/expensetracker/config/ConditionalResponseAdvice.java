@@ -0,0 +1,42 @@
+package com.expensetracker.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the ETag chosen by {@link ConditionalRequestInterceptor} once the response status is
+ * set, so only successful responses are tagged.
+ */
+@ControllerAdvice
+public class ConditionalResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ConditionalRequestInterceptor conditionalRequestInterceptor;
+
+    public ConditionalResponseAdvice(ConditionalRequestInterceptor conditionalRequestInterceptor) {
+        this.conditionalRequestInterceptor = conditionalRequestInterceptor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse) {
+            conditionalRequestInterceptor.applyValidators(servletRequest.getServletRequest(),
+                                                          servletResponse.getServletResponse());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,42 @@
+package com.expensetracker.config;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * Tells the current request's statistics when a connection is taken from the pool and when
+ * it is handed back, so {@link StatementBudgetInterceptor} can report how long each endpoint
+ * keeps one. Checkouts on threads that are not handling a controller request are ignored.
+ */
+@Component
+public class ConnectionHoldListener extends JdbcLifecycleEventListenerAdapter {
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+
+    public ConnectionHoldListener(SqlStatementMonitor sqlStatementMonitor) {
+        this.sqlStatementMonitor = sqlStatementMonitor;
+    }
+
+    @Override
+    public void afterGetConnection(MethodExecutionContext executionContext) {
+        RequestSqlStatistics statistics = sqlStatementMonitor.current();
+        if (statistics != null && executionContext.getThrown() == null) {
+            statistics.connectionAcquired();
+        }
+    }
+
+    @Override
+    public void afterClose(MethodExecutionContext executionContext) {
+        // close() callbacks also fire for statements and result sets
+        if (!(executionContext.getTarget() instanceof Connection)) {
+            return;
+        }
+        RequestSqlStatistics statistics = sqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.connectionReleased();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.expensetracker.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Notes how many connections the request still holds at the moment its response body is
+ * about to be serialized. With open-session-in-view off this should always be zero.
+ */
+@ControllerAdvice
+public class ConnectionReleaseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+
+    public ConnectionReleaseAdvice(SqlStatementMonitor sqlStatementMonitor) {
+        this.sqlStatementMonitor = sqlStatementMonitor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestSqlStatistics statistics = sqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.responseWriteStarted();
+        }
+        return body;
+    }
+}
@@ -2,6 +2,7 @@ package com.expensetracker.config;
 
 import com.expensetracker.entity.Category;
 import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.service.CategoryCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -12,11 +13,15 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
     @Override
     public void run(String... args) throws Exception {
         // Check if default categories already exist
         if (categoryRepository.findByIsDefaultTrue().isEmpty()) {
             createDefaultCategories();
+            categoryCache.invalidateDefaults();
         }
     }
 
@@ -0,0 +1,38 @@
+package com.expensetracker.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every JDBC statement, including native queries and
+ * batches, passes through {@link SqlStatementMonitor}, and every connection checkout and
+ * return through {@link ConnectionHoldListener}. The proxy unwraps to the Hikari pool, so
+ * pool metrics and health checks are unaffected.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatementMonitor> sqlStatementMonitor;
+    private final ObjectProvider<ConnectionHoldListener> connectionHoldListener;
+
+    public DataSourceProxyPostProcessor(ObjectProvider<SqlStatementMonitor> sqlStatementMonitor,
+                                        ObjectProvider<ConnectionHoldListener> connectionHoldListener) {
+        this.sqlStatementMonitor = sqlStatementMonitor;
+        this.connectionHoldListener = connectionHoldListener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(sqlStatementMonitor.getObject())
+                    .listener(connectionHoldListener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
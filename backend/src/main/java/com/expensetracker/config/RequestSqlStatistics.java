@@ -0,0 +1,99 @@
+package com.expensetracker.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL executed while handling one request: statement count, total database time and a
+ * tally per distinct statement, so repeated statements (N+1s) stand out in the log. Also
+ * tracks how long the request held a pooled connection and whether it still held one when
+ * the response body was written. Only touched by the request's own thread.
+ */
+public class RequestSqlStatistics {
+
+    // Bounds memory for requests that run many different statements
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Tally> bySql = new LinkedHashMap<>();
+    private int statements;
+    private long databaseMillis;
+    private int openConnections;
+    private long holdStartNanos;
+    private long connectionHoldNanos;
+    private int connectionsOpenAtResponseWrite;
+
+    void record(String sql, long elapsedMillis) {
+        statements++;
+        databaseMillis += elapsedMillis;
+        Tally tally = bySql.get(sql);
+        if (tally == null && bySql.size() < MAX_DISTINCT_STATEMENTS) {
+            tally = new Tally(sql);
+            bySql.put(sql, tally);
+        }
+        if (tally != null) {
+            tally.count++;
+            tally.millis += elapsedMillis;
+        }
+    }
+
+    void connectionAcquired() {
+        if (openConnections++ == 0) {
+            holdStartNanos = System.nanoTime();
+        }
+    }
+
+    void connectionReleased() {
+        if (openConnections > 0 && --openConnections == 0) {
+            connectionHoldNanos += System.nanoTime() - holdStartNanos;
+        }
+    }
+
+    void responseWriteStarted() {
+        connectionsOpenAtResponseWrite = openConnections;
+    }
+
+    public int getStatements() { return statements; }
+
+    public long getDatabaseMillis() { return databaseMillis; }
+
+    public long getElapsedMillis() { return (System.nanoTime() - startNanos) / 1_000_000; }
+
+    /**
+     * Time during which the request held at least one connection, up to now.
+     */
+    public long getConnectionHoldNanos() {
+        return openConnections > 0 ? connectionHoldNanos + System.nanoTime() - holdStartNanos : connectionHoldNanos;
+    }
+
+    public int getConnectionsOpenAtResponseWrite() { return connectionsOpenAtResponseWrite; }
+
+    /**
+     * The most frequently executed statements first, then the slowest.
+     */
+    public List<Tally> getTopStatements(int limit) {
+        List<Tally> tallies = new ArrayList<>(bySql.values());
+        tallies.sort(Comparator.comparingInt((Tally tally) -> tally.count).reversed()
+            .thenComparing(Comparator.comparingLong((Tally tally) -> tally.millis).reversed()));
+        return tallies.subList(0, Math.min(limit, tallies.size()));
+    }
+
+    public static class Tally {
+        private final String sql;
+        private int count;
+        private long millis;
+
+        Tally(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() { return sql; }
+
+        public int getCount() { return count; }
+
+        public long getMillis() { return millis; }
+    }
+}
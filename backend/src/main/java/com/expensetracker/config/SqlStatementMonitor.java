@@ -0,0 +1,79 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sees every statement sent through the proxied DataSource. Statements slower than the
+ * slow-query threshold are logged wherever they run; statements on a thread that is
+ * handling a controller request are also added to that request's statistics.
+ */
+@Component
+public class SqlStatementMonitor implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementMonitor.class);
+
+    private static final ThreadLocal<RequestSqlStatistics> currentRequest = new ThreadLocal<>();
+
+    private final long slowQueryMillis;
+    // The DataSource is proxied before the registry exists, so it is looked up on first use
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SqlStatementMonitor(@Value("${sql.monitoring.slow-query-threshold:500ms}") Duration slowQueryThreshold,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        this.slowQueryMillis = slowQueryThreshold.toMillis();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RequestSqlStatistics beginRequest() {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        currentRequest.set(statistics);
+        return statistics;
+    }
+
+    // Statistics of the request the calling thread is handling, if any
+    RequestSqlStatistics current() {
+        return currentRequest.get();
+    }
+
+    public RequestSqlStatistics endRequest() {
+        RequestSqlStatistics statistics = currentRequest.get();
+        currentRequest.remove();
+        return statistics;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        long elapsedMillis = execInfo.getElapsedTime();
+
+        RequestSqlStatistics statistics = currentRequest.get();
+        if (statistics != null) {
+            statistics.record(sql, elapsedMillis);
+        }
+
+        if (elapsedMillis >= slowQueryMillis) {
+            logger.warn("Slow query ({} ms{}): {}", elapsedMillis,
+                        execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", sql);
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                registry.counter("sql.slow.queries").increment();
+            }
+        }
+    }
+}
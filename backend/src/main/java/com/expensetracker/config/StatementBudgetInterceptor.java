@@ -0,0 +1,134 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and database time of every request handled by a controller,
+ * publishes them per endpoint and logs requests that run more statements than the budget
+ * or take longer than the latency threshold, with the statements they ran. For streamed
+ * responses only the work done before streaming starts is counted.
+ * <p>
+ * Connection hold time is published per endpoint as well, and a request that still holds a
+ * connection when its response body is written is counted and logged: the connection should
+ * go back to the pool when the last transaction ends, not after serialization.
+ */
+@Component
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementBudgetInterceptor.class);
+
+    private static final String CONTROLLER_PACKAGE = "com.expensetracker.controller";
+    private static final String STATISTICS_ATTRIBUTE = StatementBudgetInterceptor.class.getName() + ".statistics";
+    private static final int LOGGED_STATEMENTS = 10;
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final long requestThresholdMillis;
+
+    public StatementBudgetInterceptor(SqlStatementMonitor sqlStatementMonitor,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${sql.monitoring.statement-budget:20}") int statementBudget,
+                                      @Value("${sql.monitoring.request-threshold:1s}") Duration requestThreshold) {
+        this.sqlStatementMonitor = sqlStatementMonitor;
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.requestThresholdMillis = requestThreshold.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC
+                && handler instanceof HandlerMethod handlerMethod
+                && handlerMethod.getBeanType().getPackageName().startsWith(CONTROLLER_PACKAGE)) {
+            request.setAttribute(STATISTICS_ATTRIBUTE, sqlStatementMonitor.beginRequest());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        complete(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        complete(request);
+    }
+
+    private void complete(HttpServletRequest request) {
+        if (request.getAttribute(STATISTICS_ATTRIBUTE) == null) {
+            return;
+        }
+        request.removeAttribute(STATISTICS_ATTRIBUTE);
+        RequestSqlStatistics statistics = sqlStatementMonitor.endRequest();
+        if (statistics == null) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Database time per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getDatabaseMillis(), TimeUnit.MILLISECONDS);
+        Timer.builder("http.server.requests.connection.hold")
+                .description("Time a pooled connection was held per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getConnectionHoldNanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.getConnectionsOpenAtResponseWrite() > 0) {
+            meterRegistry.counter("http.server.requests.connection.held.during.write", tags).increment();
+            logger.warn("{} {} still held {} connection(s) while writing the response",
+                        request.getMethod(), uri, statistics.getConnectionsOpenAtResponseWrite());
+        }
+
+        boolean overBudget = statistics.getStatements() > statementBudget;
+        long elapsedMillis = statistics.getElapsedMillis();
+        boolean slow = elapsedMillis > requestThresholdMillis;
+        if (!overBudget && !slow) {
+            return;
+        }
+
+        meterRegistry.counter("http.server.requests.sql.budget.exceeded",
+                tags.and("reason", overBudget ? "statements" : "latency")).increment();
+
+        StringBuilder message = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(uri)
+                .append(overBudget ? " exceeded the SQL statement budget" : " exceeded the latency threshold")
+                .append(": ").append(statistics.getStatements()).append(" statements (budget ").append(statementBudget)
+                .append("), ").append(statistics.getDatabaseMillis()).append(" ms in the database, ")
+                .append(elapsedMillis).append(" ms total");
+        for (RequestSqlStatistics.Tally tally : statistics.getTopStatements(LOGGED_STATEMENTS)) {
+            message.append(System.lineSeparator()).append("    ")
+                   .append(tally.getCount()).append(" x ").append(tally.getMillis()).append(" ms  ")
+                   .append(tally.getSql());
+        }
+        logger.warn(message.toString());
+    }
+}
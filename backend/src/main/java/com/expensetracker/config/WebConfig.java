@@ -0,0 +1,81 @@
+package com.expensetracker.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final StatementBudgetInterceptor statementBudgetInterceptor;
+    private final ConditionalRequestInterceptor conditionalRequestInterceptor;
+
+    // Not a bean: an Executor bean would stop Boot from creating its applicationTaskExecutor
+    private final AsyncTaskExecutor asyncExecutor;
+
+    public WebConfig(StatementBudgetInterceptor statementBudgetInterceptor,
+                     ConditionalRequestInterceptor conditionalRequestInterceptor,
+                     Environment environment,
+                     @Value("${web.async.pool-size:20}") int asyncPoolSize,
+                     @Value("${web.async.queue-capacity:200}") int asyncQueueCapacity) {
+        this.statementBudgetInterceptor = statementBudgetInterceptor;
+        this.conditionalRequestInterceptor = conditionalRequestInterceptor;
+        this.asyncExecutor = Threading.VIRTUAL.isActive(environment)
+            ? virtualThreadExecutor()
+            : platformThreadExecutor(asyncPoolSize, asyncQueueCapacity);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so it also accounts for requests answered by later interceptors
+        registry.addInterceptor(statementBudgetInterceptor);
+        registry.addInterceptor(conditionalRequestInterceptor)
+                .addPathPatterns("/transactions", "/transactions/**", "/categories", "/categories/**",
+                                 "/reports", "/reports/**", "/analytics", "/analytics/**")
+                // A single transaction must be found and owned before it can be "not modified"
+                .excludePathPatterns("/transactions/export", "/transactions/{id:\\d+}");
+    }
+
+    /**
+     * Streamed responses, such as the unpaginated transaction list the dashboard loads, run on
+     * this executor rather than Boot's shared task pool, whose 8 core threads and unbounded
+     * queue would make every list load wait behind the others.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncExecutor);
+        // Tags streamed GETs just before they start writing, once their status is known
+        configurer.registerCallableInterceptors(conditionalRequestInterceptor);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (asyncExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.destroy();
+        }
+    }
+
+    private static AsyncTaskExecutor virtualThreadExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    private static AsyncTaskExecutor platformThreadExecutor(int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,52 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.TrendsResponse;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.expensetracker.service.AnalyticsService;
+import com.expensetracker.service.UserService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final UserService userService;
+
+    public AnalyticsController(AnalyticsService analyticsService, UserService userService) {
+        this.analyticsService = analyticsService;
+        this.userService = userService;
+    }
+
+    private User getCurrentUser(Authentication authentication) {
+        // The JWT filter already resolved the user, so reuse it instead of querying again
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return userService.findByUsername(authentication.getName())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @GetMapping("/trends")
+    public ResponseEntity<?> getTrends(
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "EXPENSE") Transaction.TransactionType type,
+            Authentication authentication) {
+        try {
+            User user = getCurrentUser(authentication);
+            TrendsResponse trends = analyticsService.getTrends(
+                user, AnalyticsService.Granularity.parse(granularity), from, to, type);
+            return ResponseEntity.ok(trends);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
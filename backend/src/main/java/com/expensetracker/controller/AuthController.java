@@ -6,6 +6,7 @@ import com.expensetracker.dto.RegisterRequest;
 import com.expensetracker.entity.User;
 import com.expensetracker.security.JwtUtil;
 import com.expensetracker.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -96,11 +97,12 @@ public class AuthController {
         try {
             if (token.startsWith("Bearer ")) {
                 token = token.substring(7);
-                String username = jwtUtil.extractUsername(token);
+                Claims claims = jwtUtil.parseToken(token);
+                String username = claims.getSubject();
                 UserDetails userDetails = userService.loadUserByUsername(username);
                 
-                if (jwtUtil.validateToken(token, userDetails)) {
-                    User user = userService.findByUsername(username).get();
+                if (jwtUtil.validateClaims(claims, userDetails)) {
+                    User user = (User) userDetails;
                     logger.debug("Token validated successfully for user: {}", username);
                     return ResponseEntity.ok(new JwtResponse(token, user.getUsername(), user.getEmail(), user.getFullName(), user.getCurrency()));
                 }
@@ -1,12 +1,14 @@
 package com.expensetracker.controller;
 
 import com.expensetracker.dto.CategoryRequest;
+import com.expensetracker.dto.CategoryResponse;
 import com.expensetracker.entity.Category;
 import com.expensetracker.entity.User;
 import com.expensetracker.exception.ResourceNotFoundException;
-import com.expensetracker.exception.UnauthorizedException;
-import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.service.CategoryCache;
+import com.expensetracker.service.CategoryService;
 import com.expensetracker.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,24 +16,31 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/categories")
+@Timed("category.controller")
 public class CategoryController {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryController.class);
 
-    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final CategoryCache categoryCache;
     private final UserService userService;
 
-    public CategoryController(CategoryRepository categoryRepository, UserService userService) {
-        this.categoryRepository = categoryRepository;
+    public CategoryController(CategoryService categoryService, CategoryCache categoryCache,
+                              UserService userService) {
+        this.categoryService = categoryService;
+        this.categoryCache = categoryCache;
         this.userService = userService;
     }
 
     private User getCurrentUser(Authentication authentication) {
+        // The JWT filter already resolved the user, so reuse it instead of querying again
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
         return userService.findByUsername(authentication.getName())
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", authentication.getName()));
     }
@@ -42,7 +51,7 @@ public class CategoryController {
             logger.debug("Fetching categories for user: {}", authentication.getName());
             
             User user = getCurrentUser(authentication);
-            List<Category> categories = categoryRepository.findByUserOrIsDefaultTrueOrderByName(user);
+            List<CategoryResponse> categories = categoryCache.getCategories(user);
             logger.info("Found {} categories for user: {}", categories.size(), user.getUsername());
             return ResponseEntity.ok(categories);
         } catch (Exception e) {
@@ -56,7 +65,7 @@ public class CategoryController {
                                                Authentication authentication) {
         try {
             User user = getCurrentUser(authentication);
-            List<Category> categories = categoryRepository.findByUserAndTypeOrIsDefaultTrueAndTypeOrderByName(user, type);
+            List<CategoryResponse> categories = categoryCache.getCategories(user, type);
             return ResponseEntity.ok(categories);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -71,20 +80,9 @@ public class CategoryController {
                        request.getName(), request.getType(), authentication.getName());
             
             User user = getCurrentUser(authentication);
-            
-            Category category = new Category();
-            category.setName(request.getName());
-            category.setDescription(request.getDescription());
-            category.setColor(request.getColor());
-            category.setType(request.getType());
-            category.setUser(user);
-            category.setIsDefault(false);
-            category.setCreatedAt(LocalDateTime.now());
-            category.setUpdatedAt(LocalDateTime.now());
-            
-            Category savedCategory = categoryRepository.save(category);
-            logger.info("Category saved successfully with ID: {}", savedCategory.getId());
-            return ResponseEntity.ok(savedCategory);
+            CategoryResponse category = categoryService.createCategory(request, user);
+            logger.info("Category saved successfully with ID: {}", category.getId());
+            return ResponseEntity.ok(category);
         } catch (Exception e) {
             logger.error("Error creating category for user {}: {}", authentication.getName(), e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -97,23 +95,8 @@ public class CategoryController {
                                           Authentication authentication) {
         try {
             User user = getCurrentUser(authentication);
-            
-            Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
-            
-            // Only allow users to update their own categories, not default ones
-            if (category.getIsDefault() || !category.getUser().getId().equals(user.getId())) {
-                throw new UnauthorizedException("You do not have permission to modify this category");
-            }
-            
-            category.setName(request.getName());
-            category.setDescription(request.getDescription());
-            category.setColor(request.getColor());
-            category.setType(request.getType());
-            category.setUpdatedAt(LocalDateTime.now());
-            
-            Category savedCategory = categoryRepository.save(category);
-            return ResponseEntity.ok(savedCategory);
+            CategoryResponse category = categoryService.updateCategory(id, request, user);
+            return ResponseEntity.ok(category);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -121,19 +104,14 @@ public class CategoryController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCategory(@PathVariable Long id,
+                                          @RequestParam(required = false) Long reassignTo,
                                           Authentication authentication) {
         try {
             User user = getCurrentUser(authentication);
-            
-            Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
-            
-            // Only allow users to delete their own categories, not default ones
-            if (category.getIsDefault() || !category.getUser().getId().equals(user.getId())) {
-                throw new UnauthorizedException("You do not have permission to delete this category");
+            long moved = categoryService.deleteCategory(id, reassignTo, user);
+            if (moved > 0) {
+                return ResponseEntity.ok("Category deleted successfully; " + moved + " transaction(s) reassigned");
             }
-            
-            categoryRepository.delete(category);
             return ResponseEntity.ok("Category deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
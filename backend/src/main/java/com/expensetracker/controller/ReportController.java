@@ -0,0 +1,55 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.ReportResponse;
+import com.expensetracker.entity.User;
+import com.expensetracker.service.ReportService;
+import com.expensetracker.service.UserService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+
+    // Months covered by default when no range is given, including the current one
+    private static final int DEFAULT_MONTHS = 6;
+
+    private final ReportService reportService;
+    private final UserService userService;
+
+    public ReportController(ReportService reportService, UserService userService) {
+        this.reportService = reportService;
+        this.userService = userService;
+    }
+
+    private User getCurrentUser(Authentication authentication) {
+        // The JWT filter already resolved the user, so reuse it instead of querying again
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return userService.findByUsername(authentication.getName())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        try {
+            User user = getCurrentUser(authentication);
+
+            LocalDate end = endDate != null ? endDate : LocalDate.now().withDayOfMonth(1).plusMonths(1).minusDays(1);
+            LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1).minusMonths(DEFAULT_MONTHS - 1);
+
+            ReportResponse report = reportService.getReport(user, start, end);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
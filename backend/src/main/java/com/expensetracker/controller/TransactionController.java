@@ -1,41 +1,120 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.dto.BulkImportResponse;
+import com.expensetracker.dto.MonthlySummary;
+import com.expensetracker.dto.TransactionBatchOperation;
+import com.expensetracker.dto.TransactionBatchResponse;
+import com.expensetracker.dto.TransactionBatchResult;
+import com.expensetracker.dto.TransactionPage;
 import com.expensetracker.dto.TransactionRequest;
 import com.expensetracker.dto.TransactionResponse;
 import com.expensetracker.entity.Transaction;
 import com.expensetracker.entity.User;
+import com.expensetracker.service.TransactionBatchService;
+import com.expensetracker.service.TransactionExportService;
+import com.expensetracker.service.TransactionImportService;
 import com.expensetracker.service.TransactionService;
 import com.expensetracker.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.time.YearMonth;
 import java.util.List;
-import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/transactions")
 public class TransactionController {
 
+    private static final int DEFAULT_CURSOR_LIMIT = 20;
+    private static final int MAX_CURSOR_LIMIT = 100;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionExportService transactionExportService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     public TransactionController(TransactionService transactionService, 
-                               UserService userService) {
+                               TransactionImportService transactionImportService,
+                               TransactionBatchService transactionBatchService,
+                               TransactionExportService transactionExportService,
+                               UserService userService,
+                               ObjectMapper objectMapper) {
         this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
+        this.transactionBatchService = transactionBatchService;
+        this.transactionExportService = transactionExportService;
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     private User getCurrentUser(Authentication authentication) {
+        // The JWT filter already resolved the user, so reuse it instead of querying again
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
         return userService.findByUsername(authentication.getName())
             .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    // Same plain-text error the other handlers return, for handlers typed to a streamed body
+    private static ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.badRequest()
+            .contentType(new MediaType("text", "plain", StandardCharsets.UTF_8))
+            .body(outputStream -> outputStream.write(bytes));
+    }
+
+    // An explicit gzip (or x-gzip) coding decides, otherwise "*" does; q=0 means "not acceptable"
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
     @PostMapping
     public ResponseEntity<?> createTransaction(@Valid @RequestBody TransactionRequest request, 
                                              Authentication authentication) {
@@ -48,6 +127,49 @@ public class TransactionController {
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importTransactions(@RequestBody List<TransactionRequest> requests,
+                                              Authentication authentication) {
+        try {
+            User user = getCurrentUser(authentication);
+            BulkImportResponse response = transactionImportService.importTransactions(requests, user);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<?> importTransactionsCsv(@RequestBody String csv,
+                                                 Authentication authentication) {
+        try {
+            User user = getCurrentUser(authentication);
+            BulkImportResponse response = transactionImportService.importCsv(csv, user);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody List<TransactionBatchOperation> operations,
+                                      Authentication authentication) {
+        try {
+            User user = getCurrentUser(authentication);
+            TransactionBatchResponse response = transactionBatchService.apply(operations, user);
+            if (response.isApplied()) {
+                return ResponseEntity.ok(response);
+            }
+            boolean conflict = response.getResults().stream()
+                .anyMatch(result -> result.getStatus() == TransactionBatchResult.Status.CONFLICT);
+            return ResponseEntity.status(conflict ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateTransaction(@PathVariable Long id, 
                                              @Valid @RequestBody TransactionRequest request,
@@ -56,6 +178,8 @@ public class TransactionController {
             User user = getCurrentUser(authentication);
             TransactionResponse response = transactionService.updateTransaction(id, request, user);
             return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -63,11 +187,14 @@ public class TransactionController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTransaction(@PathVariable Long id, 
+                                             @RequestParam(required = false) Long version,
                                              Authentication authentication) {
         try {
             User user = getCurrentUser(authentication);
-            transactionService.deleteTransaction(id, user);
+            transactionService.deleteTransaction(id, version, user);
             return ResponseEntity.ok().body("Transaction deleted successfully");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -88,23 +215,96 @@ public class TransactionController {
     @GetMapping
     public ResponseEntity<?> getUserTransactions(Authentication authentication,
                                                @RequestParam(required = false) Integer page,
-                                               @RequestParam(required = false) Integer size) {
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String after,
+                                               @RequestParam(required = false) Integer limit) {
         try {
             User user = getCurrentUser(authentication);
-            List<TransactionResponse> transactions;
             
-            if (page != null && size != null) {
-                transactions = transactionService.getUserTransactionsPaginated(user, page, size);
-            } else {
-                transactions = transactionService.getUserTransactions(user);
+            // Cursor mode: cost of a page does not depend on how deep it is
+            if (after != null || limit != null) {
+                int pageLimit = limit != null ? Math.min(Math.max(limit, 1), MAX_CURSOR_LIMIT) : DEFAULT_CURSOR_LIMIT;
+                TransactionPage transactionPage = transactionService.getUserTransactionsAfter(user, after, pageLimit);
+                return ResponseEntity.ok(transactionPage);
             }
             
+            List<TransactionResponse> transactions = transactionService.getUserTransactionsPaginated(
+                user, page != null ? page : 0, size != null ? size : DEFAULT_PAGE_SIZE);
             return ResponseEntity.ok(transactions);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    // Without paging parameters the full history is written as it is read instead of being
+    // collected into a list first. A separate mapping because Spring only streams a
+    // ResponseEntity whose declared body type is StreamingResponseBody.
+    @GetMapping(params = {"!page", "!size", "!after", "!limit"})
+    public ResponseEntity<StreamingResponseBody> streamUserTransactions(Authentication authentication) {
+        try {
+            User user = getCurrentUser(authentication);
+            
+            StreamingResponseBody body = outputStream -> {
+                JsonGenerator generator = objectMapper.createGenerator(outputStream);
+                generator.writeStartArray();
+                transactionService.streamUserTransactions(user, transaction -> {
+                    try {
+                        generator.writeObject(transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                // Flush without closing; the container owns the response stream
+                generator.flush();
+            };
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (Exception e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            Authentication authentication) {
+        try {
+            User user = getCurrentUser(authentication);
+            TransactionExportService.Format exportFormat = TransactionExportService.Format.parse(format);
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new IllegalArgumentException("'from' must not be after 'to'");
+            }
+            boolean gzip = acceptsGzip(acceptEncoding);
+
+            StreamingResponseBody body = outputStream -> {
+                if (gzip) {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 8192);
+                    transactionExportService.export(user, from, to, exportFormat, gzipStream);
+                    gzipStream.finish();
+                } else {
+                    transactionExportService.export(user, from, to, exportFormat, outputStream);
+                }
+            };
+
+            boolean csv = exportFormat == TransactionExportService.Format.CSV;
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                                 : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
+        } catch (Exception e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
     @GetMapping("/date-range")
     public ResponseEntity<?> getTransactionsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -145,21 +345,22 @@ public class TransactionController {
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<?> getCurrentMonthSummary(Authentication authentication) {
+    public ResponseEntity<?> getCurrentMonthSummary(Authentication authentication,
+                                                  @RequestParam(required = false) String from,
+                                                  @RequestParam(required = false) String to) {
         try {
             User user = getCurrentUser(authentication);
             
-            BigDecimal income = transactionService.getCurrentMonthIncome(user);
-            BigDecimal expense = transactionService.getCurrentMonthExpense(user);
-            BigDecimal balance = transactionService.getCurrentMonthBalance(user);
-            
-            Map<String, Object> summary = new HashMap<>();
-            summary.put("income", income);
-            summary.put("expense", expense);
-            summary.put("balance", balance);
-            summary.put("year", LocalDate.now().getYear());
-            summary.put("month", LocalDate.now().getMonthValue());
+            // Series mode: ?from=YYYY-MM&to=YYYY-MM, one entry per month
+            if (from != null || to != null) {
+                YearMonth current = YearMonth.now();
+                YearMonth fromMonth = from != null ? YearMonth.parse(from) : current;
+                YearMonth toMonth = to != null ? YearMonth.parse(to) : current;
+                List<MonthlySummary> series = transactionService.getMonthlySummaries(user, fromMonth, toMonth);
+                return ResponseEntity.ok(series);
+            }
             
+            MonthlySummary summary = transactionService.getCurrentMonthSummary(user);
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -172,18 +373,7 @@ public class TransactionController {
                                              Authentication authentication) {
         try {
             User user = getCurrentUser(authentication);
-            
-            BigDecimal income = transactionService.getMonthlySum(user, Transaction.TransactionType.INCOME, year, month);
-            BigDecimal expense = transactionService.getMonthlySum(user, Transaction.TransactionType.EXPENSE, year, month);
-            BigDecimal balance = income.subtract(expense);
-            
-            Map<String, Object> summary = new HashMap<>();
-            summary.put("income", income);
-            summary.put("expense", expense);
-            summary.put("balance", balance);
-            summary.put("year", year);
-            summary.put("month", month);
-            
+            MonthlySummary summary = transactionService.getMonthlySummary(user, year, month);
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -31,6 +31,7 @@ public class UserController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
             user.setCurrency(currency);
+            // updateUser also evicts the cached principal so the next request sees the new currency
             userService.updateUser(user);
 
             return ResponseEntity.ok().body("Currency updated successfully");
@@ -0,0 +1,40 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class BalanceTrendPoint {
+    
+    private LocalDate periodStart;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal net;
+    private BigDecimal runningBalance;
+    
+    // Constructors
+    public BalanceTrendPoint() {}
+    
+    public BalanceTrendPoint(LocalDate periodStart, BigDecimal income, BigDecimal expense, BigDecimal runningBalance) {
+        this.periodStart = periodStart;
+        this.income = income;
+        this.expense = expense;
+        this.net = income.subtract(expense);
+        this.runningBalance = runningBalance;
+    }
+    
+    // Getters and Setters
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+    
+    public BigDecimal getIncome() { return income; }
+    public void setIncome(BigDecimal income) { this.income = income; }
+    
+    public BigDecimal getExpense() { return expense; }
+    public void setExpense(BigDecimal expense) { this.expense = expense; }
+    
+    public BigDecimal getNet() { return net; }
+    public void setNet(BigDecimal net) { this.net = net; }
+    
+    public BigDecimal getRunningBalance() { return runningBalance; }
+    public void setRunningBalance(BigDecimal runningBalance) { this.runningBalance = runningBalance; }
+}
@@ -0,0 +1,22 @@
+package com.expensetracker.dto;
+
+public class BulkImportError {
+    
+    private int row;
+    private String message;
+    
+    // Constructors
+    public BulkImportError() {}
+    
+    public BulkImportError(int row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
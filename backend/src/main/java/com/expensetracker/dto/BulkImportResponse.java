@@ -0,0 +1,29 @@
+package com.expensetracker.dto;
+
+import java.util.List;
+
+public class BulkImportResponse {
+    
+    private int received;
+    private int imported;
+    private List<BulkImportError> errors;
+    
+    // Constructors
+    public BulkImportResponse() {}
+    
+    public BulkImportResponse(int received, int imported, List<BulkImportError> errors) {
+        this.received = received;
+        this.imported = imported;
+        this.errors = errors;
+    }
+    
+    // Getters and Setters
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+    
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    
+    public List<BulkImportError> getErrors() { return errors; }
+    public void setErrors(List<BulkImportError> errors) { this.errors = errors; }
+}
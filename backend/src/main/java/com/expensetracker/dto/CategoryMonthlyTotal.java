@@ -0,0 +1,53 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.Transaction;
+
+import java.math.BigDecimal;
+
+public class CategoryMonthlyTotal {
+    
+    private Integer year;
+    private Integer month;
+    private Transaction.TransactionType type;
+    private Long categoryId;
+    private String categoryName;
+    private String categoryColor;
+    private BigDecimal total;
+    
+    // Constructors
+    public CategoryMonthlyTotal() {}
+    
+    public CategoryMonthlyTotal(Integer year, Integer month, Transaction.TransactionType type,
+                                Long categoryId, String categoryName, String categoryColor,
+                                BigDecimal total) {
+        this.year = year;
+        this.month = month;
+        this.type = type;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.categoryColor = categoryColor;
+        this.total = total;
+    }
+    
+    // Getters and Setters
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+    
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    
+    public String getCategoryColor() { return categoryColor; }
+    public void setCategoryColor(String categoryColor) { this.categoryColor = categoryColor; }
+    
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+}
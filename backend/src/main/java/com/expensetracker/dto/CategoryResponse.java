@@ -0,0 +1,46 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.Category;
+
+/**
+ * Read-only view of a category. Instances are shared through the category cache, so
+ * there are no setters.
+ */
+public class CategoryResponse {
+    
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Category.CategoryType type;
+    private final String color;
+    private final Boolean isDefault;
+    
+    // Constructors
+    public CategoryResponse(Long id, String name, String description, Category.CategoryType type,
+                            String color, Boolean isDefault) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.type = type;
+        this.color = color;
+        this.isDefault = isDefault;
+    }
+    
+    public CategoryResponse(Category category) {
+        this(category.getId(), category.getName(), category.getDescription(), category.getType(),
+             category.getColor(), category.getIsDefault());
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public String getName() { return name; }
+    
+    public String getDescription() { return description; }
+    
+    public Category.CategoryType getType() { return type; }
+    
+    public String getColor() { return color; }
+    
+    public Boolean getIsDefault() { return isDefault; }
+}
@@ -0,0 +1,61 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+
+public class CategoryTrendPoint {
+    
+    private Long categoryId;
+    private String categoryName;
+    private String categoryColor;
+    private int year;
+    private int month;
+    private BigDecimal total;
+    private BigDecimal movingAverage3;
+    private BigDecimal movingAverage6;
+    private BigDecimal movingAverage12;
+    
+    // Constructors
+    public CategoryTrendPoint() {}
+    
+    public CategoryTrendPoint(Long categoryId, String categoryName, String categoryColor, int year, int month,
+                              BigDecimal total, BigDecimal movingAverage3, BigDecimal movingAverage6,
+                              BigDecimal movingAverage12) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.categoryColor = categoryColor;
+        this.year = year;
+        this.month = month;
+        this.total = total;
+        this.movingAverage3 = movingAverage3;
+        this.movingAverage6 = movingAverage6;
+        this.movingAverage12 = movingAverage12;
+    }
+    
+    // Getters and Setters
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    
+    public String getCategoryColor() { return categoryColor; }
+    public void setCategoryColor(String categoryColor) { this.categoryColor = categoryColor; }
+    
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+    
+    public int getMonth() { return month; }
+    public void setMonth(int month) { this.month = month; }
+    
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+    
+    public BigDecimal getMovingAverage3() { return movingAverage3; }
+    public void setMovingAverage3(BigDecimal movingAverage3) { this.movingAverage3 = movingAverage3; }
+    
+    public BigDecimal getMovingAverage6() { return movingAverage6; }
+    public void setMovingAverage6(BigDecimal movingAverage6) { this.movingAverage6 = movingAverage6; }
+    
+    public BigDecimal getMovingAverage12() { return movingAverage12; }
+    public void setMovingAverage12(BigDecimal movingAverage12) { this.movingAverage12 = movingAverage12; }
+}
@@ -0,0 +1,43 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+
+public class MonthlySummary {
+    
+    private int year;
+    private int month;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal balance;
+    
+    // Constructors
+    public MonthlySummary() {}
+    
+    public MonthlySummary(Integer year, Integer month, BigDecimal income, BigDecimal expense) {
+        this.year = year;
+        this.month = month;
+        this.income = income != null ? income : BigDecimal.ZERO;
+        this.expense = expense != null ? expense : BigDecimal.ZERO;
+        this.balance = this.income.subtract(this.expense);
+    }
+    
+    public static MonthlySummary empty(int year, int month) {
+        return new MonthlySummary(year, month, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+    
+    // Getters and Setters
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+    
+    public int getMonth() { return month; }
+    public void setMonth(int month) { this.month = month; }
+    
+    public BigDecimal getIncome() { return income; }
+    public void setIncome(BigDecimal income) { this.income = income; }
+    
+    public BigDecimal getExpense() { return expense; }
+    public void setExpense(BigDecimal expense) { this.expense = expense; }
+    
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+}
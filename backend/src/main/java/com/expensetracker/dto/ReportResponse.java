@@ -0,0 +1,37 @@
+package com.expensetracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ReportResponse {
+    
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<CategoryMonthlyTotal> categoryTotals;
+    private List<TypeMonthlyTotal> typeTotals;
+    
+    // Constructors
+    public ReportResponse() {}
+    
+    public ReportResponse(LocalDate startDate, LocalDate endDate,
+                          List<CategoryMonthlyTotal> categoryTotals,
+                          List<TypeMonthlyTotal> typeTotals) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.categoryTotals = categoryTotals;
+        this.typeTotals = typeTotals;
+    }
+    
+    // Getters and Setters
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public List<CategoryMonthlyTotal> getCategoryTotals() { return categoryTotals; }
+    public void setCategoryTotals(List<CategoryMonthlyTotal> categoryTotals) { this.categoryTotals = categoryTotals; }
+    
+    public List<TypeMonthlyTotal> getTypeTotals() { return typeTotals; }
+    public void setTypeTotals(List<TypeMonthlyTotal> typeTotals) { this.typeTotals = typeTotals; }
+}
@@ -0,0 +1,42 @@
+package com.expensetracker.dto;
+
+public class TransactionBatchOperation {
+    
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+    
+    private Action action;
+    
+    // Target of an update or delete; ignored for creates
+    private Long id;
+    
+    // Optional for updates and deletes; a stale version fails the whole batch with a conflict
+    private Long version;
+    
+    // New values for a create or update
+    private TransactionRequest transaction;
+    
+    // Constructors
+    public TransactionBatchOperation() {}
+    
+    public TransactionBatchOperation(Action action, Long id, Long version, TransactionRequest transaction) {
+        this.action = action;
+        this.id = id;
+        this.version = version;
+        this.transaction = transaction;
+    }
+    
+    // Getters and Setters
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public TransactionRequest getTransaction() { return transaction; }
+    public void setTransaction(TransactionRequest transaction) { this.transaction = transaction; }
+}
@@ -0,0 +1,25 @@
+package com.expensetracker.dto;
+
+import java.util.List;
+
+public class TransactionBatchResponse {
+    
+    // False when any operation failed; the batch is all-or-nothing, so nothing was written
+    private boolean applied;
+    private List<TransactionBatchResult> results;
+    
+    // Constructors
+    public TransactionBatchResponse() {}
+    
+    public TransactionBatchResponse(boolean applied, List<TransactionBatchResult> results) {
+        this.applied = applied;
+        this.results = results;
+    }
+    
+    // Getters and Setters
+    public boolean isApplied() { return applied; }
+    public void setApplied(boolean applied) { this.applied = applied; }
+    
+    public List<TransactionBatchResult> getResults() { return results; }
+    public void setResults(List<TransactionBatchResult> results) { this.results = results; }
+}
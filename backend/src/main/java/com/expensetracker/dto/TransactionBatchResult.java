@@ -0,0 +1,50 @@
+package com.expensetracker.dto;
+
+public class TransactionBatchResult {
+    
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, FORBIDDEN, CONFLICT, NOT_APPLIED
+    }
+    
+    // Position of the operation in the request, counted from 1
+    private int operation;
+    private TransactionBatchOperation.Action action;
+    private Status status;
+    private Long id;
+    
+    // Saved state for creates and updates
+    private TransactionResponse transaction;
+    private String message;
+    
+    // Constructors
+    public TransactionBatchResult() {}
+    
+    public TransactionBatchResult(int operation, TransactionBatchOperation.Action action, Status status,
+                                  Long id, TransactionResponse transaction, String message) {
+        this.operation = operation;
+        this.action = action;
+        this.status = status;
+        this.id = id;
+        this.transaction = transaction;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public int getOperation() { return operation; }
+    public void setOperation(int operation) { this.operation = operation; }
+    
+    public TransactionBatchOperation.Action getAction() { return action; }
+    public void setAction(TransactionBatchOperation.Action action) { this.action = action; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public TransactionResponse getTransaction() { return transaction; }
+    public void setTransaction(TransactionResponse transaction) { this.transaction = transaction; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
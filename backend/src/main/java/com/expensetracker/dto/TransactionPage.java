@@ -0,0 +1,24 @@
+package com.expensetracker.dto;
+
+import java.util.List;
+
+public class TransactionPage {
+    
+    private List<TransactionResponse> content;
+    private String nextCursor;
+    
+    // Constructors
+    public TransactionPage() {}
+    
+    public TransactionPage(List<TransactionResponse> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<TransactionResponse> getContent() { return content; }
+    public void setContent(List<TransactionResponse> content) { this.content = content; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -31,6 +31,9 @@ public class TransactionRequest {
     @Size(max = 500, message = "Notes cannot exceed 500 characters")
     private String notes;
     
+    // Version the client last read; updates are rejected with a conflict if it is stale
+    private Long version;
+    
     // Constructors
     public TransactionRequest() {}
     
@@ -62,4 +65,7 @@ public class TransactionRequest {
     
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 } 
\ No newline at end of file
@@ -16,6 +16,7 @@ public class TransactionResponse {
     private String notes;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     
     // Category information
     private Long categoryId;
@@ -25,6 +26,41 @@ public class TransactionResponse {
     // Constructors
     public TransactionResponse() {}
     
+    // Takes category details from an already resolved category instead of the entity's lazy association
+    public TransactionResponse(Transaction transaction, CategoryResponse category) {
+        this.id = transaction.getId();
+        this.amount = transaction.getAmount();
+        this.description = transaction.getDescription();
+        this.transactionDate = transaction.getTransactionDate();
+        this.type = transaction.getType();
+        this.notes = transaction.getNotes();
+        this.createdAt = transaction.getCreatedAt();
+        this.updatedAt = transaction.getUpdatedAt();
+        this.version = transaction.getVersion();
+        this.categoryId = category.getId();
+        this.categoryName = category.getName();
+        this.categoryColor = category.getColor();
+    }
+    
+    // Used by JPQL constructor expressions that join the category in the same statement
+    public TransactionResponse(Long id, BigDecimal amount, String description, LocalDate transactionDate,
+                               Transaction.TransactionType type, String notes,
+                               LocalDateTime createdAt, LocalDateTime updatedAt, Long version,
+                               Long categoryId, String categoryName, String categoryColor) {
+        this.id = id;
+        this.amount = amount;
+        this.description = description;
+        this.transactionDate = transactionDate;
+        this.type = type;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.categoryColor = categoryColor;
+    }
+    
     public TransactionResponse(Transaction transaction) {
         this.id = transaction.getId();
         this.amount = transaction.getAmount();
@@ -34,6 +70,7 @@ public class TransactionResponse {
         this.notes = transaction.getNotes();
         this.createdAt = transaction.getCreatedAt();
         this.updatedAt = transaction.getUpdatedAt();
+        this.version = transaction.getVersion();
         
         if (transaction.getCategory() != null) {
             this.categoryId = transaction.getCategory().getId();
@@ -67,6 +104,9 @@ public class TransactionResponse {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public Long getCategoryId() { return categoryId; }
     public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
     
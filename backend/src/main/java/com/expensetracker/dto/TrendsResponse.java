@@ -0,0 +1,46 @@
+package com.expensetracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class TrendsResponse {
+    
+    private String granularity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String categoryType;
+    private List<BalanceTrendPoint> balance;
+    private List<CategoryTrendPoint> categories;
+    
+    // Constructors
+    public TrendsResponse() {}
+    
+    public TrendsResponse(String granularity, LocalDate startDate, LocalDate endDate, String categoryType,
+                          List<BalanceTrendPoint> balance, List<CategoryTrendPoint> categories) {
+        this.granularity = granularity;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.categoryType = categoryType;
+        this.balance = balance;
+        this.categories = categories;
+    }
+    
+    // Getters and Setters
+    public String getGranularity() { return granularity; }
+    public void setGranularity(String granularity) { this.granularity = granularity; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public String getCategoryType() { return categoryType; }
+    public void setCategoryType(String categoryType) { this.categoryType = categoryType; }
+    
+    public List<BalanceTrendPoint> getBalance() { return balance; }
+    public void setBalance(List<BalanceTrendPoint> balance) { this.balance = balance; }
+    
+    public List<CategoryTrendPoint> getCategories() { return categories; }
+    public void setCategories(List<CategoryTrendPoint> categories) { this.categories = categories; }
+}
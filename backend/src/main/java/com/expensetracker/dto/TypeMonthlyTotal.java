@@ -0,0 +1,36 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.Transaction;
+
+import java.math.BigDecimal;
+
+public class TypeMonthlyTotal {
+    
+    private Integer year;
+    private Integer month;
+    private Transaction.TransactionType type;
+    private BigDecimal total;
+    
+    // Constructors
+    public TypeMonthlyTotal() {}
+    
+    public TypeMonthlyTotal(Integer year, Integer month, Transaction.TransactionType type, BigDecimal total) {
+        this.year = year;
+        this.month = month;
+        this.type = type;
+        this.total = total;
+    }
+    
+    // Getters and Setters
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+    
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+}
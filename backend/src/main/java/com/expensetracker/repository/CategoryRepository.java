@@ -1,17 +1,43 @@
 package com.expensetracker.repository;
 
+import com.expensetracker.dto.CategoryResponse;
 import com.expensetracker.entity.Category;
 import com.expensetracker.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
+    // Read-only views select CategoryResponse DTOs directly, so no entities (or user proxies)
+    // are hydrated into the persistence context
+    String RESPONSE_SELECT = "SELECT new com.expensetracker.dto.CategoryResponse(c.id, c.name, c.description, " +
+                             "c.type, c.color, c.isDefault) FROM Category c ";
+    
+    @Query(RESPONSE_SELECT + "WHERE c.user = :user")
+    List<CategoryResponse> findResponsesByUser(@Param("user") User user);
+    
+    @Query(RESPONSE_SELECT + "WHERE c.isDefault = true")
+    List<CategoryResponse> findDefaultResponses();
+    
+    // Row lock that also blocks new transactions from referencing the category until commit.
+    // Native, because PESSIMISTIC_WRITE becomes FOR NO KEY UPDATE on PostgreSQL, which does not
+    // conflict with the key-share lock taken by the foreign key check of an inserted transaction.
+    @Query(value = "SELECT * FROM categories WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Category> findByIdForUpdate(@Param("id") Long id);
+    
+    // Shared row lock: the category can still be referenced, but not updated or deleted until commit
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM Category c WHERE c.id = :id")
+    Optional<Category> findByIdForShare(@Param("id") Long id);
+    
     List<Category> findByUserOrIsDefaultTrue(User user);
     
     List<Category> findByUserAndType(User user, Category.CategoryType type);
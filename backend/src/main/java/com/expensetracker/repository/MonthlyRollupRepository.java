@@ -0,0 +1,108 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.MonthlySummary;
+import com.expensetracker.entity.MonthlyRollup;
+import com.expensetracker.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, year, month, type, category_id, total, transaction_count) " +
+                   "VALUES (:userId, :year, :month, :type, :categoryId, :amount, :count) " +
+                   "ON CONFLICT (user_id, year, month, type, category_id) DO UPDATE SET " +
+                   "total = monthly_rollups.total + EXCLUDED.total, " +
+                   "transaction_count = monthly_rollups.transaction_count + EXCLUDED.transaction_count",
+           nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("type") String type,
+                   @Param("categoryId") Long categoryId,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count);
+    
+    // Income and expense per month in one pass; months are compared as year * 12 + month
+    @Query("SELECT new com.expensetracker.dto.MonthlySummary(r.year, r.month, " +
+           "SUM(r.total) FILTER (WHERE r.type = com.expensetracker.entity.Transaction$TransactionType.INCOME), " +
+           "SUM(r.total) FILTER (WHERE r.type = com.expensetracker.entity.Transaction$TransactionType.EXPENSE)) " +
+           "FROM MonthlyRollup r WHERE r.user = :user " +
+           "AND r.year * 12 + r.month BETWEEN :fromMonth AND :toMonth " +
+           "GROUP BY r.year, r.month ORDER BY r.year, r.month")
+    List<MonthlySummary> summarizeByMonth(@Param("user") User user,
+                                          @Param("fromMonth") int fromMonth,
+                                          @Param("toMonth") int toMonth);
+    
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    // Buckets emptied by negative deltas; a bucket with no transactions must not have a row
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups WHERE user_id = :userId AND transaction_count <= 0",
+           nativeQuery = true)
+    int deleteEmptyByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups WHERE user_id = :userId AND category_id = :categoryId",
+           nativeQuery = true)
+    int deleteByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+    
+    // Upserts, because a concurrent write may have re-created one of the user's buckets since
+    // they were deleted; the fresh aggregate replaces it instead of failing on the unique key
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, year, month, type, category_id, total, transaction_count) " +
+                   "SELECT t.user_id, EXTRACT(YEAR FROM t.transaction_date), EXTRACT(MONTH FROM t.transaction_date), " +
+                   "t.type, t.category_id, SUM(t.amount), COUNT(*) FROM transactions t " +
+                   "WHERE t.user_id = :userId GROUP BY 1, 2, 3, 4, 5 " +
+                   "ON CONFLICT (user_id, year, month, type, category_id) DO UPDATE SET " +
+                   "total = EXCLUDED.total, transaction_count = EXCLUDED.transaction_count",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+    
+    // Monthly totals per category with 3, 6 and 12 month moving averages, for months fromMonth
+    // to toMonth (year * 12 + month). Months without transactions count as zero, including the
+    // eleven months before fromMonth that feed the first averages.
+    @Query(value = "SELECT g.category_id, c.name, c.color, g.month_index, g.total, g.ma3, g.ma6, g.ma12 FROM (" +
+                   "SELECT cat.category_id, m.month_index, COALESCE(r.total, 0) AS total, " +
+                   "ROUND(AVG(COALESCE(r.total, 0)) OVER (PARTITION BY cat.category_id ORDER BY m.month_index " +
+                   "ROWS BETWEEN 2 PRECEDING AND CURRENT ROW), 2) AS ma3, " +
+                   "ROUND(AVG(COALESCE(r.total, 0)) OVER (PARTITION BY cat.category_id ORDER BY m.month_index " +
+                   "ROWS BETWEEN 5 PRECEDING AND CURRENT ROW), 2) AS ma6, " +
+                   "ROUND(AVG(COALESCE(r.total, 0)) OVER (PARTITION BY cat.category_id ORDER BY m.month_index " +
+                   "ROWS BETWEEN 11 PRECEDING AND CURRENT ROW), 2) AS ma12 " +
+                   "FROM generate_series(:fromMonth - 11, :toMonth) AS m(month_index) " +
+                   "CROSS JOIN (SELECT DISTINCT x.category_id FROM monthly_rollups x WHERE x.user_id = :userId " +
+                   "AND x.type = :type AND x.year * 12 + x.month BETWEEN :fromMonth - 11 AND :toMonth) cat " +
+                   "LEFT JOIN monthly_rollups r ON r.user_id = :userId AND r.type = :type " +
+                   "AND r.category_id = cat.category_id AND r.year * 12 + r.month = m.month_index) g " +
+                   "JOIN categories c ON c.id = g.category_id " +
+                   "WHERE g.month_index >= :fromMonth " +
+                   "ORDER BY c.name, g.category_id, g.month_index",
+           nativeQuery = true)
+    List<Object[]> findCategoryMovingAverages(@Param("userId") Long userId,
+                                              @Param("type") String type,
+                                              @Param("fromMonth") int fromMonth,
+                                              @Param("toMonth") int toMonth);
+    
+    // Users whose rollup rows differ from a fresh aggregate of their raw transactions
+    @Query(value = "SELECT DISTINCT COALESCE(a.user_id, r.user_id) FROM " +
+                   "(SELECT t.user_id, CAST(EXTRACT(YEAR FROM t.transaction_date) AS integer) AS year, " +
+                   "CAST(EXTRACT(MONTH FROM t.transaction_date) AS integer) AS month, t.type, t.category_id, " +
+                   "SUM(t.amount) AS total, COUNT(*) AS transaction_count " +
+                   "FROM transactions t GROUP BY 1, 2, 3, 4, 5) a " +
+                   "FULL OUTER JOIN monthly_rollups r ON a.user_id = r.user_id AND a.year = r.year " +
+                   "AND a.month = r.month AND a.type = r.type AND a.category_id = r.category_id " +
+                   "WHERE a.user_id IS NULL OR r.user_id IS NULL " +
+                   "OR a.total <> r.total OR a.transaction_count <> r.transaction_count",
+           nativeQuery = true)
+    List<Long> findUserIdsWithDrift();
+}
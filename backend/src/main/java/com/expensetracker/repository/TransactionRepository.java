@@ -1,50 +1,251 @@
 package com.expensetracker.repository;
 
+import com.expensetracker.dto.CategoryMonthlyTotal;
+import com.expensetracker.dto.TransactionResponse;
+import com.expensetracker.dto.TypeMonthlyTotal;
 import com.expensetracker.entity.Transaction;
 import com.expensetracker.entity.User;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
-    List<Transaction> findByUserOrderByTransactionDateDesc(User user);
+    // Listing queries select TransactionResponse DTOs with the category joined in the same
+    // statement, so no entities are hydrated and no per-row category SELECT is issued
+    String RESPONSE_SELECT = "SELECT new com.expensetracker.dto.TransactionResponse(t.id, t.amount, t.description, " +
+                             "t.transactionDate, t.type, t.notes, t.createdAt, t.updatedAt, t.version, c.id, c.name, c.color) " +
+                             "FROM Transaction t JOIN t.category c ";
     
-    Page<Transaction> findByUser(User user, Pageable pageable);
+    boolean existsByCategoryId(Long categoryId);
     
-    List<Transaction> findByUserAndTransactionDateBetween(User user, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT t.user.id FROM Transaction t WHERE t.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    // Reserves a block of ids the way Hibernate's pooled generator does: the value returned is
+    // the last id of a block as large as the sequence increment
+    @Query(value = "SELECT nextval('transactions_seq')", nativeQuery = true)
+    long reserveIdBlock();
+    
+    // Row locks the user's transactions among the ids so a batch sees them unchanged until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id IN :ids AND t.user.id = :userId")
+    List<Transaction> findOwnedForUpdate(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+    
+    // Updates the transaction only if it belongs to the user and, when a version is given, is
+    // still at that version. The monthly rollups move from the old bucket to the new one in
+    // the same statement. Returns no row if nothing matched, otherwise one row of id,
+    // created_at, updated_at, the new version and the number of rollup buckets left empty.
+    // updatedAt comes from the application clock, like the entity's @PreUpdate timestamp.
+    @Query(value = "WITH old AS (" +
+                   "SELECT t.id, t.amount, t.transaction_date, t.type, t.category_id FROM transactions t " +
+                   "WHERE t.id = :id AND t.user_id = :userId " +
+                   "AND (CAST(:version AS bigint) IS NULL OR t.version = CAST(:version AS bigint)) FOR UPDATE), " +
+                   "updated AS (" +
+                   "UPDATE transactions t SET amount = :amount, description = :description, " +
+                   "transaction_date = :transactionDate, type = :type, category_id = :categoryId, notes = :notes, " +
+                   "updated_at = :updatedAt, version = t.version + 1 FROM old WHERE t.id = old.id " +
+                   "RETURNING t.id, t.created_at, t.updated_at, t.version), " +
+                   "deltas AS (" +
+                   "SELECT year, month, type, category_id, SUM(total) AS total, SUM(moved) AS moved FROM (" +
+                   "SELECT CAST(EXTRACT(YEAR FROM o.transaction_date) AS integer) AS year, " +
+                   "CAST(EXTRACT(MONTH FROM o.transaction_date) AS integer) AS month, o.type, o.category_id, " +
+                   "-o.amount AS total, -1 AS moved FROM old o " +
+                   "UNION ALL " +
+                   "SELECT CAST(EXTRACT(YEAR FROM CAST(:transactionDate AS date)) AS integer), " +
+                   "CAST(EXTRACT(MONTH FROM CAST(:transactionDate AS date)) AS integer), CAST(:type AS varchar), " +
+                   "CAST(:categoryId AS bigint), CAST(:amount AS numeric), 1 FROM old) x " +
+                   "GROUP BY 1, 2, 3, 4), " +
+                   "rollups AS (" +
+                   "INSERT INTO monthly_rollups (user_id, year, month, type, category_id, total, transaction_count) " +
+                   "SELECT :userId, d.year, d.month, d.type, d.category_id, d.total, d.moved FROM deltas d " +
+                   "ON CONFLICT (user_id, year, month, type, category_id) DO UPDATE SET " +
+                   "total = monthly_rollups.total + EXCLUDED.total, " +
+                   "transaction_count = monthly_rollups.transaction_count + EXCLUDED.transaction_count " +
+                   "RETURNING monthly_rollups.transaction_count) " +
+                   "SELECT u.id, u.created_at, u.updated_at, u.version, " +
+                   "(SELECT COUNT(*) FROM rollups r WHERE r.transaction_count <= 0) FROM updated u",
+           nativeQuery = true)
+    List<Object[]> updateOwned(@Param("id") Long id,
+                               @Param("userId") Long userId,
+                               @Param("version") Long version,
+                               @Param("amount") BigDecimal amount,
+                               @Param("description") String description,
+                               @Param("transactionDate") LocalDate transactionDate,
+                               @Param("type") String type,
+                               @Param("categoryId") Long categoryId,
+                               @Param("notes") String notes,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Deletes the transaction only if it belongs to the user (and matches the version, if
+    // given) and takes it out of its monthly rollup in the same statement. Returns one row:
+    // the number of transactions deleted and the number of rollup buckets left empty.
+    @Query(value = "WITH deleted AS (" +
+                   "DELETE FROM transactions t WHERE t.id = :id AND t.user_id = :userId " +
+                   "AND (CAST(:version AS bigint) IS NULL OR t.version = CAST(:version AS bigint)) " +
+                   "RETURNING t.amount, t.transaction_date, t.type, t.category_id), " +
+                   "rollups AS (" +
+                   "UPDATE monthly_rollups r SET total = r.total - d.amount, " +
+                   "transaction_count = r.transaction_count - 1 FROM deleted d " +
+                   "WHERE r.user_id = :userId AND r.year = CAST(EXTRACT(YEAR FROM d.transaction_date) AS integer) " +
+                   "AND r.month = CAST(EXTRACT(MONTH FROM d.transaction_date) AS integer) " +
+                   "AND r.type = d.type AND r.category_id = d.category_id " +
+                   "RETURNING r.transaction_count) " +
+                   "SELECT (SELECT COUNT(*) FROM deleted), (SELECT COUNT(*) FROM rollups WHERE transaction_count <= 0)",
+           nativeQuery = true)
+    List<Object[]> deleteOwned(@Param("id") Long id,
+                               @Param("userId") Long userId,
+                               @Param("version") Long version);
+    
+    // Moves up to chunkSize of the user's transactions from one category to another and shifts
+    // their amounts between the two categories' monthly rollups, all in one statement.
+    // Returns the number of transactions moved; fewer than chunkSize means none are left.
+    @Query(value = "WITH moved AS (" +
+                   "UPDATE transactions t SET category_id = :targetId, updated_at = :updatedAt, " +
+                   "version = t.version + 1 " +
+                   "WHERE t.id IN (SELECT s.id FROM transactions s WHERE s.user_id = :userId " +
+                   "AND s.category_id = :sourceId ORDER BY s.id LIMIT :chunkSize FOR UPDATE) " +
+                   "RETURNING t.transaction_date, t.type, t.amount), " +
+                   "deltas AS (" +
+                   "SELECT CAST(EXTRACT(YEAR FROM transaction_date) AS integer) AS year, " +
+                   "CAST(EXTRACT(MONTH FROM transaction_date) AS integer) AS month, type, " +
+                   "SUM(amount) AS total, COUNT(*) AS moved FROM moved GROUP BY 1, 2, 3), " +
+                   "source_rollups AS (" +
+                   "UPDATE monthly_rollups r SET total = r.total - d.total, " +
+                   "transaction_count = r.transaction_count - d.moved FROM deltas d " +
+                   "WHERE r.user_id = :userId AND r.category_id = :sourceId " +
+                   "AND r.year = d.year AND r.month = d.month AND r.type = d.type RETURNING r.id), " +
+                   "target_rollups AS (" +
+                   "INSERT INTO monthly_rollups (user_id, year, month, type, category_id, total, transaction_count) " +
+                   "SELECT :userId, d.year, d.month, d.type, :targetId, d.total, d.moved FROM deltas d " +
+                   "ON CONFLICT (user_id, year, month, type, category_id) DO UPDATE SET " +
+                   "total = monthly_rollups.total + EXCLUDED.total, " +
+                   "transaction_count = monthly_rollups.transaction_count + EXCLUDED.transaction_count " +
+                   "RETURNING id) " +
+                   "SELECT COALESCE(SUM(moved), 0) FROM deltas",
+           nativeQuery = true)
+    long reassignCategoryChunk(@Param("userId") Long userId,
+                               @Param("sourceId") Long sourceId,
+                               @Param("targetId") Long targetId,
+                               @Param("chunkSize") int chunkSize,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Single transaction with its category joined, for building a response in one statement
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id")
+    Optional<Transaction> findWithCategoryById(@Param("id") Long id);
+    
+    // Read through a JDBC cursor (see hibernate.jdbc.fetch_size); must be consumed in a transaction
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<TransactionResponse> streamByUser(@Param("user") User user);
+    
+    // Oldest first, for exports; also read through a JDBC cursor
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user AND " +
+           "t.transactionDate >= :startDate AND t.transactionDate <= :endDate " +
+           "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionResponse> streamByUserAndDateBetween(@Param("user") User user,
+                                                           @Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate);
     
-    List<Transaction> findByUserAndType(User user, Transaction.TransactionType type);
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user")
+    Slice<TransactionResponse> findResponsesByUser(@Param("user") User user, Pageable pageable);
     
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND " +
-           "YEAR(t.transactionDate) = :year AND MONTH(t.transactionDate) = :month " +
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findResponsesByUser(@Param("user") User user, Limit limit);
+    
+    // Seek past the cursor row; the leading date bound lets the index range scan start there
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user AND t.transactionDate <= :date AND " +
+           "(t.transactionDate < :date OR t.id < :id) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findResponsesByUserAfterCursor(@Param("user") User user,
+                                                             @Param("date") LocalDate date,
+                                                             @Param("id") Long id,
+                                                             Limit limit);
+    
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user AND " +
+           "t.transactionDate >= :startDate AND t.transactionDate <= :endDate")
+    List<TransactionResponse> findResponsesByUserAndDateBetween(@Param("user") User user,
+                                                                @Param("startDate") LocalDate startDate,
+                                                                @Param("endDate") LocalDate endDate);
+    
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user AND t.type = :type")
+    List<TransactionResponse> findResponsesByUserAndType(@Param("user") User user,
+                                                         @Param("type") Transaction.TransactionType type);
+    
+    // Date ranges below are half-open, [startDate, endDate), so the predicates stay index-friendly
+    @Query(RESPONSE_SELECT + "WHERE t.user = :user AND " +
+           "t.transactionDate >= :startDate AND t.transactionDate < :endDate " +
            "ORDER BY t.transactionDate DESC")
-    List<Transaction> findByUserAndYearAndMonth(@Param("user") User user, 
-                                               @Param("year") int year, 
-                                               @Param("month") int month);
-    
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.user = :user AND t.type = :type " +
-           "AND YEAR(t.transactionDate) = :year AND MONTH(t.transactionDate) = :month")
-    BigDecimal sumByUserAndTypeAndYearAndMonth(@Param("user") User user, 
-                                              @Param("type") Transaction.TransactionType type,
-                                              @Param("year") int year, 
-                                              @Param("month") int month);
-    
-    @Query("SELECT t.category.name as categoryName, t.category.color as categoryColor, " +
-           "COALESCE(SUM(t.amount), 0) as totalAmount FROM Transaction t " +
-           "WHERE t.user = :user AND t.type = :type AND " +
-           "YEAR(t.transactionDate) = :year AND MONTH(t.transactionDate) = :month " +
-           "GROUP BY t.category.id, t.category.name, t.category.color")
-    List<Object[]> getCategoryWiseSum(@Param("user") User user, 
-                                     @Param("type") Transaction.TransactionType type,
-                                     @Param("year") int year, 
-                                     @Param("month") int month);
-} 
\ No newline at end of file
+    List<TransactionResponse> findResponsesByUserAndDateRange(@Param("user") User user, 
+                                                              @Param("startDate") LocalDate startDate, 
+                                                              @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT new com.expensetracker.dto.CategoryMonthlyTotal(" +
+           "YEAR(t.transactionDate), MONTH(t.transactionDate), t.type, c.id, c.name, c.color, SUM(t.amount)) " +
+           "FROM Transaction t JOIN t.category c " +
+           "WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), t.type, c.id, c.name, c.color " +
+           "ORDER BY YEAR(t.transactionDate), MONTH(t.transactionDate), c.name")
+    List<CategoryMonthlyTotal> sumByCategoryAndMonth(@Param("user") User user,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT new com.expensetracker.dto.TypeMonthlyTotal(" +
+           "YEAR(t.transactionDate), MONTH(t.transactionDate), t.type, SUM(t.amount)) " +
+           "FROM Transaction t " +
+           "WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), t.type " +
+           "ORDER BY YEAR(t.transactionDate), MONTH(t.transactionDate)")
+    List<TypeMonthlyTotal> sumByTypeAndMonth(@Param("user") User user,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+    
+    // One row per period in [startDate, endDate): period start, income, expense and the running
+    // balance at the period's end. Periods without transactions are included with zero totals.
+    // The opening balance before startDate comes from the monthly rollups plus the transactions
+    // of startDate's month that precede it, so only the requested range of transactions is read.
+    // startDate and endDate must be aligned to the granularity ('day', 'week' or 'month').
+    @Query(value = "WITH periods AS (" +
+                   "SELECT CAST(p AS date) AS period_start FROM generate_series(CAST(:startDate AS timestamp), " +
+                   "CAST(:endDate AS timestamp) - CAST(:step AS interval), CAST(:step AS interval)) AS p), " +
+                   "buckets AS (" +
+                   "SELECT CAST(date_trunc(:granularity, CAST(t.transaction_date AS timestamp)) AS date) AS period_start, " +
+                   "SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END) AS income, " +
+                   "SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END) AS expense " +
+                   "FROM transactions t WHERE t.user_id = :userId " +
+                   "AND t.transaction_date >= :startDate AND t.transaction_date < :endDate GROUP BY 1), " +
+                   "opening AS (" +
+                   "SELECT COALESCE((SELECT SUM(CASE WHEN r.type = 'INCOME' THEN r.total ELSE -r.total END) " +
+                   "FROM monthly_rollups r WHERE r.user_id = :userId " +
+                   "AND make_date(r.year, r.month, 1) < date_trunc('month', CAST(:startDate AS timestamp))), 0) + " +
+                   "COALESCE((SELECT SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END) " +
+                   "FROM transactions t WHERE t.user_id = :userId " +
+                   "AND t.transaction_date >= CAST(date_trunc('month', CAST(:startDate AS timestamp)) AS date) " +
+                   "AND t.transaction_date < :startDate), 0) AS balance) " +
+                   "SELECT p.period_start, COALESCE(b.income, 0), COALESCE(b.expense, 0), " +
+                   "o.balance + SUM(COALESCE(b.income, 0) - COALESCE(b.expense, 0)) OVER (ORDER BY p.period_start) " +
+                   "FROM periods p LEFT JOIN buckets b ON b.period_start = p.period_start CROSS JOIN opening o " +
+                   "ORDER BY p.period_start",
+           nativeQuery = true)
+    List<Object[]> findBalanceTrend(@Param("userId") Long userId,
+                                    @Param("granularity") String granularity,
+                                    @Param("step") String step,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+}
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.expensetracker.repository;
 
 import com.expensetracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +19,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
-} 
\ No newline at end of file
+
+    // Not mapped on the entity, so saving a (possibly cached) User never writes it back
+    @Query(value = "SELECT data_version FROM users WHERE id = :id", nativeQuery = true)
+    Optional<Long> findDataVersion(@Param("id") Long id);
+
+    // Takes the user's row lock until commit, which orders concurrent writers' increments
+    @Modifying
+    @Query(value = "UPDATE users SET data_version = data_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementDataVersion(@Param("id") Long id);
+}
+ 
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.expensetracker.security;
+
+import com.expensetracker.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of authenticated users keyed by username, so that
+ * resolving the principal for a JWT does not hit the users table on every request.
+ * Entries must be invalidated whenever the user row changes.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, User> cache;
+
+    // Bumped by every invalidation; a load that overlapped one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Publishes cache.gets{result=hit|miss}, cache.size and cache.evictions
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Returns the cached user, loading it on a miss. A loader returning null is not cached.
+     * The loader runs outside the cache's internal lock, since a JDBC call inside it would
+     * pin a virtual thread; concurrent misses for one username may each load it. A load that
+     * overlaps an invalidation is returned but not cached, so it cannot outlive the change.
+     */
+    public User get(String username, Function<String, User> loader) {
+        User user = cache.getIfPresent(username);
+        if (user == null) {
+            long generation = invalidations.get();
+            User loaded = loader.apply(username);
+            if (loaded != null) {
+                // The entry's lock orders this store against a concurrent invalidate()
+                cache.asMap().compute(username,
+                    (name, current) -> invalidations.get() == generation ? loaded : current);
+            }
+            user = loaded;
+        }
+        return user;
+    }
+
+    public void invalidate(String username) {
+        invalidations.incrementAndGet();
+        cache.invalidate(username);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,242 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.BalanceTrendPoint;
+import com.expensetracker.dto.CategoryTrendPoint;
+import com.expensetracker.dto.TrendsResponse;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import com.expensetracker.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Running balance and per-category moving averages over time. Both series are computed by
+ * window functions in the database; this class only aligns the range to whole periods and
+ * caches the closed ones.
+ * <p>
+ * A period is closed once it lies entirely before the current one. Closed results are cached
+ * under the user's data version, so any write moves the user to fresh keys, while the open
+ * period at the end of a range is always read live.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    // Upper bound on balance points per request, about thirteen months of days
+    private static final int MAX_PERIODS = 400;
+    private static final int MAX_CATEGORY_MONTHS = 120;
+
+    public enum Granularity {
+        DAY(30), WEEK(12), MONTH(12);
+
+        private final int defaultPeriods;
+
+        Granularity(int defaultPeriods) {
+            this.defaultPeriods = defaultPeriods;
+        }
+
+        public static Granularity parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported granularity: " + value + " (expected day, week or month)");
+            }
+        }
+
+        public LocalDate truncate(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        public LocalDate plus(LocalDate periodStart, long periods) {
+            return switch (this) {
+                case DAY -> periodStart.plusDays(periods);
+                case WEEK -> periodStart.plusWeeks(periods);
+                case MONTH -> periodStart.plusMonths(periods);
+            };
+        }
+
+        // Field name for date_trunc and the matching interval for generate_series
+        String sqlField() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        String sqlStep() {
+            return "1 " + sqlField();
+        }
+    }
+
+    private record BalanceKey(Long userId, String version, Granularity granularity,
+                              LocalDate startDate, LocalDate endDate) {}
+
+    private record CategoryKey(Long userId, String version, Transaction.TransactionType type,
+                               int fromMonth, int toMonth) {}
+
+    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final DataVersionService dataVersionService;
+    private final Cache<BalanceKey, List<BalanceTrendPoint>> closedBalances;
+    private final Cache<CategoryKey, List<CategoryTrendPoint>> closedCategoryTrends;
+
+    public AnalyticsService(TransactionRepository transactionRepository,
+                            MonthlyRollupRepository monthlyRollupRepository,
+                            DataVersionService dataVersionService,
+                            @Value("${analytics.cache.max-size:10000}") long maxSize,
+                            @Value("${analytics.cache.ttl:1h}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.dataVersionService = dataVersionService;
+        this.closedBalances = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        this.closedCategoryTrends = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, closedBalances, "analytics.balance");
+        CaffeineCacheMetrics.monitor(meterRegistry, closedCategoryTrends, "analytics.categories");
+    }
+
+    /**
+     * Trends for the periods covering {@code from} to {@code to} inclusive. Missing bounds
+     * default to the granularity's usual window ending with the current period.
+     */
+    public TrendsResponse getTrends(User user, Granularity granularity, LocalDate from, LocalDate to,
+                                    Transaction.TransactionType type) {
+        LocalDate today = LocalDate.now();
+        LocalDate lastPeriod = granularity.truncate(to != null ? to : today);
+        LocalDate firstPeriod = from != null
+            ? granularity.truncate(from)
+            : granularity.plus(lastPeriod, 1 - granularity.defaultPeriods);
+        if (firstPeriod.isAfter(lastPeriod)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (!granularity.plus(firstPeriod, MAX_PERIODS).isAfter(lastPeriod)) {
+            throw new IllegalArgumentException("A " + granularity.sqlField() + " trend is limited to " + MAX_PERIODS + " periods");
+        }
+        LocalDate endExclusive = granularity.plus(lastPeriod, 1);
+
+        // Read before querying: a write committing meanwhile can then only make the cached
+        // entry newer than its key, never older
+        String version = dataVersionService.currentVersion(user.getId());
+
+        List<BalanceTrendPoint> balance = getBalanceTrend(user, version, granularity, firstPeriod, endExclusive,
+                                                          granularity.truncate(today));
+        List<CategoryTrendPoint> categories = getCategoryTrend(user, version, type, monthIndex(firstPeriod),
+                                                               monthIndex(endExclusive.minusDays(1)), monthIndex(today));
+
+        return new TrendsResponse(granularity.sqlField(), firstPeriod, endExclusive.minusDays(1), type.name(),
+                                  balance, categories);
+    }
+
+    private List<BalanceTrendPoint> getBalanceTrend(User user, String version, Granularity granularity,
+                                                    LocalDate startDate, LocalDate endDate, LocalDate openPeriod) {
+        LocalDate closedEnd = endDate.isAfter(openPeriod) ? openPeriod : endDate;
+        List<BalanceTrendPoint> points = new ArrayList<>();
+        if (startDate.isBefore(closedEnd)) {
+            BalanceKey key = new BalanceKey(user.getId(), version, granularity, startDate, closedEnd);
+            List<BalanceTrendPoint> closed = closedBalances.getIfPresent(key);
+            if (closed == null) {
+                closed = queryBalanceTrend(user, granularity, startDate, closedEnd);
+                closedBalances.put(key, closed);
+            }
+            points.addAll(closed);
+        }
+        if (closedEnd.isBefore(endDate)) {
+            // The opening balance of the live part is derived from history, so it lines up
+            // with the last closed point
+            LocalDate liveStart = startDate.isAfter(closedEnd) ? startDate : closedEnd;
+            points.addAll(queryBalanceTrend(user, granularity, liveStart, endDate));
+        }
+        return points;
+    }
+
+    private List<BalanceTrendPoint> queryBalanceTrend(User user, Granularity granularity,
+                                                      LocalDate startDate, LocalDate endDate) {
+        return transactionRepository.findBalanceTrend(user.getId(), granularity.sqlField(), granularity.sqlStep(),
+                                                      startDate, endDate)
+            .stream()
+            .map(row -> new BalanceTrendPoint(
+                ((Date) row[0]).toLocalDate(),
+                (BigDecimal) row[1],
+                (BigDecimal) row[2],
+                (BigDecimal) row[3]))
+            .toList();
+    }
+
+    private List<CategoryTrendPoint> getCategoryTrend(User user, String version, Transaction.TransactionType type,
+                                                      int fromMonth, int toMonth, int openMonth) {
+        if (toMonth - fromMonth >= MAX_CATEGORY_MONTHS) {
+            throw new IllegalArgumentException("A category trend is limited to " + MAX_CATEGORY_MONTHS + " months");
+        }
+
+        int closedTo = Math.min(toMonth, openMonth - 1);
+        List<CategoryTrendPoint> points = new ArrayList<>();
+        if (fromMonth <= closedTo) {
+            CategoryKey key = new CategoryKey(user.getId(), version, type, fromMonth, closedTo);
+            List<CategoryTrendPoint> closed = closedCategoryTrends.getIfPresent(key);
+            if (closed == null) {
+                closed = queryCategoryTrend(user, type, fromMonth, closedTo);
+                closedCategoryTrends.put(key, closed);
+            }
+            points.addAll(closed);
+        }
+        if (closedTo < toMonth) {
+            points.addAll(queryCategoryTrend(user, type, Math.max(fromMonth, closedTo + 1), toMonth));
+        }
+        // Both parts are ordered by category, then month; merge them back into that order
+        points.sort(Comparator.comparing(CategoryTrendPoint::getCategoryName)
+            .thenComparing(CategoryTrendPoint::getCategoryId)
+            .thenComparing(CategoryTrendPoint::getYear)
+            .thenComparing(CategoryTrendPoint::getMonth));
+        return points;
+    }
+
+    private List<CategoryTrendPoint> queryCategoryTrend(User user, Transaction.TransactionType type,
+                                                        int fromMonth, int toMonth) {
+        return monthlyRollupRepository.findCategoryMovingAverages(user.getId(), type.name(), fromMonth, toMonth)
+            .stream()
+            .map(row -> {
+                int monthIndex = ((Number) row[3]).intValue();
+                return new CategoryTrendPoint(
+                    ((Number) row[0]).longValue(),
+                    (String) row[1],
+                    (String) row[2],
+                    (monthIndex - 1) / 12,
+                    (monthIndex - 1) % 12 + 1,
+                    (BigDecimal) row[4],
+                    (BigDecimal) row[5],
+                    (BigDecimal) row[6],
+                    (BigDecimal) row[7]);
+            })
+            .toList();
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue();
+    }
+}
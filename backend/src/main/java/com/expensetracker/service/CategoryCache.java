@@ -0,0 +1,133 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.CategoryResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process view of the categories each user can see: the default categories, loaded once
+ * and shared by everyone, merged with the user's own categories. Per-user entries are bounded
+ * by size and must be invalidated whenever that user's categories change.
+ */
+@Component
+public class CategoryCache {
+
+    private static final Comparator<CategoryResponse> BY_NAME =
+        Comparator.comparing(CategoryResponse::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<Long, List<CategoryResponse>> userCategories;
+
+    // Bumped by every invalidation; a load that overlapped one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Immutable snapshot; defaults are created once by DataInitializer and never edited
+    private volatile List<CategoryResponse> defaultCategories;
+
+    public CategoryCache(CategoryRepository categoryRepository,
+                         @Value("${categories.cache.max-size:10000}") long maxSize,
+                         @Value("${categories.cache.ttl:30m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.userCategories = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCategories, "categories");
+    }
+
+    /**
+     * Default and user-owned categories, sorted by name.
+     */
+    public List<CategoryResponse> getCategories(User user) {
+        // Loaded outside the cache's internal lock so the query cannot pin a virtual thread
+        List<CategoryResponse> categories = userCategories.getIfPresent(user.getId());
+        if (categories == null) {
+            long generation = invalidations.get();
+            List<CategoryResponse> loaded = load(user);
+            // Stored under the entry's lock, which invalidate() also takes, so an invalidation
+            // either happens first and vetoes the store or happens after and removes it
+            userCategories.asMap().compute(user.getId(),
+                (id, current) -> invalidations.get() == generation ? loaded : current);
+            categories = loaded;
+        }
+        return categories;
+    }
+
+    public List<CategoryResponse> getCategories(User user, Category.CategoryType type) {
+        return getCategories(user).stream()
+            .filter(category -> category.getType() == type)
+            .toList();
+    }
+
+    /**
+     * The category with the given id, if it is a default or belongs to the user.
+     */
+    public Optional<CategoryResponse> findAccessible(User user, Long categoryId) {
+        return getCategories(user).stream()
+            .filter(category -> category.getId().equals(categoryId))
+            .findFirst();
+    }
+
+    /**
+     * Drops the user's entry. Inside a transaction this happens after commit, so a concurrent
+     * reader cannot reload the old rows and cache them again.
+     */
+    public void invalidate(User user) {
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    public void invalidateDefaults() {
+        defaultCategories = null;
+        invalidations.incrementAndGet();
+        userCategories.invalidateAll();
+    }
+
+    private void evict(Long userId) {
+        invalidations.incrementAndGet();
+        userCategories.invalidate(userId);
+    }
+
+    private List<CategoryResponse> load(User user) {
+        List<CategoryResponse> categories = new ArrayList<>(getDefaultCategories());
+        categories.addAll(categoryRepository.findResponsesByUser(user));
+        categories.sort(BY_NAME);
+        return List.copyOf(categories);
+    }
+
+    private List<CategoryResponse> getDefaultCategories() {
+        List<CategoryResponse> defaults = defaultCategories;
+        if (defaults == null) {
+            defaults = List.copyOf(categoryRepository.findDefaultResponses());
+            defaultCategories = defaults;
+        }
+        return defaults;
+    }
+}
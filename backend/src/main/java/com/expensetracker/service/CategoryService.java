@@ -0,0 +1,201 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.CategoryRequest;
+import com.expensetracker.dto.CategoryResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.exception.ResourceNotFoundException;
+import com.expensetracker.exception.UnauthorizedException;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import com.expensetracker.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Category writes. Each runs in one transaction, so the category is loaded, checked and
+ * changed on a single connection, and the response is built before that connection is
+ * returned to the pool. Deleting a category in use moves its transactions in chunks, each
+ * committed on its own, so no single transaction locks a large number of rows.
+ */
+@Service
+@Transactional
+public class CategoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final CategoryCache categoryCache;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int reassignChunkSize;
+
+    public CategoryService(CategoryRepository categoryRepository, TransactionRepository transactionRepository,
+                           MonthlyRollupRepository monthlyRollupRepository, CategoryCache categoryCache,
+                           DataVersionService dataVersionService, PlatformTransactionManager transactionManager,
+                           @Value("${categories.reassign.chunk-size:5000}") int reassignChunkSize) {
+        this.categoryRepository = categoryRepository;
+        this.transactionRepository = transactionRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.categoryCache = categoryCache;
+        this.dataVersionService = dataVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reassignChunkSize = reassignChunkSize;
+    }
+
+    public CategoryResponse createCategory(CategoryRequest request, User user) {
+        Category category = new Category();
+        category.setName(request.getName());
+        category.setDescription(request.getDescription());
+        category.setColor(request.getColor());
+        category.setType(request.getType());
+        category.setUser(user);
+        category.setIsDefault(false);
+        category.setCreatedAt(LocalDateTime.now());
+        category.setUpdatedAt(LocalDateTime.now());
+
+        Category savedCategory = categoryRepository.save(category);
+        categoryCache.invalidate(user);
+        dataVersionService.bump(user.getId());
+        return new CategoryResponse(savedCategory);
+    }
+
+    public CategoryResponse updateCategory(Long id, CategoryRequest request, User user) {
+        Category category = findOwnCategory(id, user, "modify");
+
+        category.setName(request.getName());
+        category.setDescription(request.getDescription());
+        category.setColor(request.getColor());
+        category.setType(request.getType());
+        category.setUpdatedAt(LocalDateTime.now());
+
+        Category savedCategory = categoryRepository.save(category);
+        categoryCache.invalidate(user);
+        dataVersionService.bump(user.getId());
+        return new CategoryResponse(savedCategory);
+    }
+
+    /**
+     * Deletes one of the user's categories. A category that still has transactions can only
+     * be deleted with a {@code reassignTo} category of the same type, which receives them.
+     * <p>
+     * All but the last chunk of transactions are moved in their own transactions, each one
+     * shifting the matching monthly rollup amounts with it, so every commit leaves the data
+     * consistent. The last chunk is moved in the transaction that deletes the category, after
+     * locking the category row so no new transaction can be added to it in between.
+     * <p>
+     * Every transaction that moves rows first re-validates the target with its row share-locked,
+     * so it cannot be retyped or deleted while the chunk moves. If it changed between chunks the
+     * delete stops with the chunks moved so far committed and the category still in place.
+     *
+     * @return the number of transactions moved to {@code reassignTo}
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteCategory(Long id, Long reassignTo, User user) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = findOwnCategory(id, user, "delete");
+            if (reassignTo == null) {
+                requireNoTransactions(id);
+            } else {
+                validateReassignTarget(category, reassignTo, user);
+            }
+        });
+
+        long moved = 0;
+        if (reassignTo != null) {
+            long chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> {
+                    Category category = categoryRepository.findByIdForShare(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+                    validateReassignTarget(category, reassignTo, user);
+                    return moveChunk(id, reassignTo, user);
+                });
+                moved += chunk;
+            } while (chunk == reassignChunkSize);
+        }
+
+        long remaining = transactionTemplate.execute(status -> {
+            Category category = categoryRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+            long stragglers = 0;
+            if (reassignTo == null) {
+                // A transaction may have been added since the first check; with the row locked no more can be
+                requireNoTransactions(id);
+            } else {
+                validateReassignTarget(category, reassignTo, user);
+                long chunk;
+                do {
+                    chunk = moveChunk(id, reassignTo, user);
+                    stragglers += chunk;
+                } while (chunk == reassignChunkSize);
+            }
+
+            // Whatever is left of the category's rollups is empty once its transactions are gone
+            monthlyRollupRepository.deleteByUserIdAndCategoryId(user.getId(), id);
+            categoryRepository.delete(category);
+            categoryCache.invalidate(user);
+            dataVersionService.bump(user.getId());
+            return stragglers;
+        });
+        moved += remaining;
+
+        if (moved > 0) {
+            logger.info("Moved {} transaction(s) from category {} to {} before deleting it", moved, id, reassignTo);
+        }
+        return moved;
+    }
+
+    private long moveChunk(Long sourceId, Long targetId, User user) {
+        long moved = transactionRepository.reassignCategoryChunk(user.getId(), sourceId, targetId, reassignChunkSize,
+            LocalDateTime.now());
+        if (moved > 0) {
+            dataVersionService.bump(user.getId());
+        }
+        return moved;
+    }
+
+    private void requireNoTransactions(Long categoryId) {
+        if (transactionRepository.existsByCategoryId(categoryId)) {
+            throw new IllegalStateException(
+                "This category still has transactions; pass reassignTo to move them to another category");
+        }
+    }
+
+    // Reads the target from the database with a share lock, not from the cache, so the checks
+    // hold until the calling transaction ends
+    private void validateReassignTarget(Category category, Long reassignTo, User user) {
+        if (reassignTo.equals(category.getId())) {
+            throw new IllegalArgumentException("Cannot reassign transactions to the category being deleted");
+        }
+        Category target = categoryRepository.findByIdForShare(reassignTo)
+            .orElseThrow(() -> new ResourceNotFoundException("Category", "id", reassignTo));
+        if (!target.getIsDefault() && (target.getUser() == null || !target.getUser().getId().equals(user.getId()))) {
+            throw new UnauthorizedException("You do not have access to this category");
+        }
+        if (target.getType() != category.getType()) {
+            throw new IllegalArgumentException("Transactions can only be reassigned to a category of the same type");
+        }
+    }
+
+    private Category findOwnCategory(Long id, User user, String action) {
+        Category category = categoryRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+
+        // Only allow users to change their own categories, not default ones
+        if (category.getIsDefault() || !category.getUser().getId().equals(user.getId())) {
+            throw new UnauthorizedException("You do not have permission to " + action + " this category");
+        }
+        return category;
+    }
+}
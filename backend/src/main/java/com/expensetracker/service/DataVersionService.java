@@ -0,0 +1,41 @@
+package com.expensetracker.service;
+
+import com.expensetracker.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tracks a per-user data version that changes whenever the user's transactions or categories
+ * change, so responses can carry ETags after one primary key read instead of the data itself.
+ * <p>
+ * The version is a column on the user's row, incremented in the writing transaction, so it
+ * becomes visible exactly when the change does and every instance behind a load balancer
+ * agrees on it.
+ */
+@Service
+public class DataVersionService {
+
+    private final UserRepository userRepository;
+
+    public DataVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * The user's current version. It includes the user id, so two users' tags never collide
+     * in a browser shared between their sessions.
+     */
+    @Transactional(readOnly = true)
+    public String currentVersion(Long userId) {
+        return userId + "." + userRepository.findDataVersion(userId).orElse(0L);
+    }
+
+    /**
+     * Moves the user to a new version, joining the caller's transaction so the change and the
+     * new version commit (or roll back) together.
+     */
+    @Transactional
+    public void bump(Long userId) {
+        userRepository.incrementDataVersion(userId);
+    }
+}
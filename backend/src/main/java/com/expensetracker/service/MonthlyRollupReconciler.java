@@ -0,0 +1,64 @@
+package com.expensetracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class MonthlyRollupReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyRollupReconciler.class);
+
+    private final MonthlyRollupService monthlyRollupService;
+
+    @Value("${rollup.reconcile.on-startup:false}")
+    private boolean reconcileOnStartup;
+
+    public MonthlyRollupReconciler(MonthlyRollupService monthlyRollupService) {
+        this.monthlyRollupService = monthlyRollupService;
+    }
+
+    // Off by default: the drift check aggregates every transaction, and the migration that
+    // created the table already backfilled it. Useful after restoring a backup or editing data by hand.
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Rebuilds every user whose rollups drifted, each in a transaction of its own, so one
+     * failing user is logged and skipped instead of rolling back the whole run.
+     */
+    @Scheduled(cron = "${rollup.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        List<Long> driftedUserIds;
+        try {
+            driftedUserIds = monthlyRollupService.verify();
+        } catch (Exception e) {
+            logger.error("Monthly rollup reconciliation failed: {}", e.getMessage());
+            return;
+        }
+
+        int rebuilt = 0;
+        for (Long userId : driftedUserIds) {
+            try {
+                monthlyRollupService.rebuild(userId);
+                rebuilt++;
+            } catch (Exception e) {
+                logger.error("Rebuilding monthly rollups for user id {} failed: {}", userId, e.getMessage());
+            }
+        }
+        if (!driftedUserIds.isEmpty()) {
+            logger.warn("Monthly rollups were out of sync for {} user(s), {} rebuilt", driftedUserIds.size(), rebuilt);
+        }
+        logger.info("Monthly rollup reconciliation finished, {} user(s) rebuilt", rebuilt);
+    }
+}
@@ -0,0 +1,134 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Transactional
+public class MonthlyRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyRollupService.class);
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final DataVersionService dataVersionService;
+
+    public MonthlyRollupService(MonthlyRollupRepository monthlyRollupRepository,
+                                DataVersionService dataVersionService) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Adds the transaction's current amount to its rollup bucket.
+     */
+    public void record(Transaction transaction) {
+        applyDelta(transaction, transaction.getAmount(), 1);
+    }
+
+    /**
+     * Applies the net effect of a set of edits with one upsert per bucket that actually
+     * changed, then drops the buckets the edits emptied.
+     */
+    public void apply(RollupChanges changes) {
+        Set<Long> shrunkUserIds = new HashSet<>();
+        for (Map.Entry<BucketKey, BigDecimal> entry : changes.totals.entrySet()) {
+            BucketKey key = entry.getKey();
+            long count = changes.counts.get(key);
+            if (count == 0 && entry.getValue().signum() == 0) {
+                continue;
+            }
+            monthlyRollupRepository.applyDelta(key.userId(), key.year(), key.month(), key.type(),
+                                               key.categoryId(), entry.getValue(), count);
+            if (count < 0) {
+                shrunkUserIds.add(key.userId());
+            }
+        }
+        for (Long userId : shrunkUserIds) {
+            monthlyRollupRepository.deleteEmptyByUserId(userId);
+        }
+    }
+
+    private void applyDelta(Transaction transaction, BigDecimal amount, long count) {
+        monthlyRollupRepository.applyDelta(
+            transaction.getUser().getId(),
+            transaction.getTransactionDate().getYear(),
+            transaction.getTransactionDate().getMonthValue(),
+            transaction.getType().name(),
+            transaction.getCategory().getId(),
+            amount,
+            count
+        );
+    }
+
+    private record BucketKey(Long userId, int year, int month, String type, Long categoryId) {
+
+        static BucketKey of(Transaction transaction) {
+            return new BucketKey(
+                transaction.getUser().getId(),
+                transaction.getTransactionDate().getYear(),
+                transaction.getTransactionDate().getMonthValue(),
+                transaction.getType().name(),
+                transaction.getCategory().getId()
+            );
+        }
+    }
+
+    /**
+     * Accumulates rollup deltas per bucket. Each call captures the transaction's bucket and
+     * amount at that moment, so an update is a {@code remove} before the entity changes and
+     * an {@code add} after it.
+     */
+    public static class RollupChanges {
+
+        private final Map<BucketKey, BigDecimal> totals = new HashMap<>();
+        private final Map<BucketKey, Long> counts = new HashMap<>();
+
+        public void add(Transaction transaction) {
+            merge(BucketKey.of(transaction), transaction.getAmount(), 1);
+        }
+
+        public void remove(Transaction transaction) {
+            merge(BucketKey.of(transaction), transaction.getAmount().negate(), -1);
+        }
+
+        private void merge(BucketKey key, BigDecimal amount, long count) {
+            totals.merge(key, amount, BigDecimal::add);
+            counts.merge(key, count, Long::sum);
+        }
+    }
+
+    /**
+     * Discards the user's rollup rows and recomputes them from the raw transactions. Runs in a
+     * transaction of its own, so a failure for one user does not undo the others' rebuilds.
+     * A write that commits while the rebuild runs can still leave that bucket off; the next
+     * reconciliation finds and repairs it.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void rebuild(Long userId) {
+        monthlyRollupRepository.deleteByUserId(userId);
+        int buckets = monthlyRollupRepository.rebuildForUser(userId);
+        // Summaries and analytics read the rollups, so anything derived from the old rows is stale
+        dataVersionService.bump(userId);
+        logger.debug("Rebuilt {} monthly rollup rows for user id {}", buckets, userId);
+    }
+
+    /**
+     * Users whose rollups differ from their raw transactions.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> verify() {
+        return monthlyRollupRepository.findUserIdsWithDrift();
+    }
+}
@@ -0,0 +1,42 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.CategoryMonthlyTotal;
+import com.expensetracker.dto.ReportResponse;
+import com.expensetracker.dto.TypeMonthlyTotal;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.TransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ReportService {
+
+    private final TransactionRepository transactionRepository;
+
+    public ReportService(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Aggregates the user's transactions between the given dates (inclusive) into
+     * category-by-month and type-by-month totals. The grouping happens in the database,
+     * so the response size depends on the number of months and categories in range,
+     * not on the number of transactions.
+     */
+    public ReportResponse getReport(User user, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        List<CategoryMonthlyTotal> categoryTotals =
+            transactionRepository.sumByCategoryAndMonth(user, startDate, endDate);
+        List<TypeMonthlyTotal> typeTotals =
+            transactionRepository.sumByTypeAndMonth(user, startDate, endDate);
+
+        return new ReportResponse(startDate, endDate, categoryTotals, typeTotals);
+    }
+}
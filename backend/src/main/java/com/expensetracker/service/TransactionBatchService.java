@@ -0,0 +1,255 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.CategoryResponse;
+import com.expensetracker.dto.TransactionBatchOperation;
+import com.expensetracker.dto.TransactionBatchOperation.Action;
+import com.expensetracker.dto.TransactionBatchResponse;
+import com.expensetracker.dto.TransactionBatchResult;
+import com.expensetracker.dto.TransactionBatchResult.Status;
+import com.expensetracker.dto.TransactionRequest;
+import com.expensetracker.dto.TransactionResponse;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@Timed("transaction.batch.service")
+public class TransactionBatchService {
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final CategoryCache categoryCache;
+    private final Validator validator;
+    private final DataVersionService dataVersionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${transactions.batch.max-operations:1000}")
+    private int maxOperations;
+
+    public TransactionBatchService(TransactionRepository transactionRepository,
+                                   CategoryRepository categoryRepository,
+                                   MonthlyRollupService monthlyRollupService,
+                                   CategoryCache categoryCache,
+                                   Validator validator,
+                                   DataVersionService dataVersionService) {
+        this.transactionRepository = transactionRepository;
+        this.categoryRepository = categoryRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.categoryCache = categoryCache;
+        this.validator = validator;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Applies the operations in order inside one database transaction, or none of them.
+     * Every operation is checked first against the rows it targets, locked with a single
+     * query; if any fails, nothing is written and each operation reports why it failed or
+     * that it was not applied. Otherwise all changes go out in one flush, so inserts, updates
+     * and deletes are sent as JDBC batches, and the rollups get one upsert per changed bucket.
+     * Versions are compared against the rows as they were before the batch.
+     */
+    public TransactionBatchResponse apply(List<TransactionBatchOperation> operations, User user) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("A single batch is limited to " + maxOperations + " operations");
+        }
+
+        Set<Long> targetIds = operations.stream()
+            .filter(Objects::nonNull)
+            .filter(operation -> operation.getAction() != Action.CREATE)
+            .map(TransactionBatchOperation::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Transaction> owned = targetIds.isEmpty()
+            ? new HashMap<>()
+            : transactionRepository.findOwnedForUpdate(targetIds, user.getId()).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+        List<Step> steps = new ArrayList<>(operations.size());
+        List<TransactionBatchResult> failures = new ArrayList<>();
+        Set<Long> deletedIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TransactionBatchOperation operation = operations.get(i);
+            try {
+                steps.add(check(i + 1, operation, owned, deletedIds, user));
+            } catch (StepFailure failure) {
+                failures.add(new TransactionBatchResult(i + 1, operation != null ? operation.getAction() : null,
+                    failure.status, operation != null ? operation.getId() : null, null, failure.getMessage()));
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            return new TransactionBatchResponse(false, withSkipped(steps, failures));
+        }
+        return new TransactionBatchResponse(true, execute(steps, user));
+    }
+
+    private Step check(int index, TransactionBatchOperation operation, Map<Long, Transaction> owned,
+                       Set<Long> deletedIds, User user) {
+        if (operation == null || operation.getAction() == null) {
+            throw new StepFailure(Status.INVALID, "action: must be one of CREATE, UPDATE, DELETE");
+        }
+
+        Transaction target = null;
+        if (operation.getAction() != Action.CREATE) {
+            Long id = operation.getId();
+            if (id == null) {
+                throw new StepFailure(Status.INVALID, "id: is required for " + operation.getAction());
+            }
+            target = owned.get(id);
+            if (target == null || deletedIds.contains(id)) {
+                boolean foreign = target == null && transactionRepository.findUserIdById(id).isPresent();
+                throw foreign
+                    ? new StepFailure(Status.FORBIDDEN, "You do not have access to this transaction")
+                    : new StepFailure(Status.NOT_FOUND, String.format("Transaction not found with id: '%s'", id));
+            }
+            if (operation.getVersion() != null && !operation.getVersion().equals(target.getVersion())) {
+                throw new StepFailure(Status.CONFLICT,
+                    "Transaction " + id + " was modified by another request; reload it and try again");
+            }
+            if (operation.getAction() == Action.DELETE) {
+                deletedIds.add(id);
+                return new Step(index, operation, null, target);
+            }
+        }
+
+        TransactionRequest request = operation.getTransaction();
+        if (request == null) {
+            throw new StepFailure(Status.INVALID, "transaction: is required for " + operation.getAction());
+        }
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new StepFailure(Status.INVALID, violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+        CategoryResponse category = categoryCache.findAccessible(user, request.getCategoryId())
+            .orElseThrow(() -> categoryRepository.existsById(request.getCategoryId())
+                ? new StepFailure(Status.FORBIDDEN, "You do not have access to this category")
+                : new StepFailure(Status.NOT_FOUND,
+                    String.format("Category not found with id: '%s'", request.getCategoryId())));
+        return new Step(index, operation, category, target);
+    }
+
+    private List<TransactionBatchResult> execute(List<Step> steps, User user) {
+        MonthlyRollupService.RollupChanges rollupChanges = new MonthlyRollupService.RollupChanges();
+        List<Transaction> saved = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            Transaction transaction = step.target();
+            switch (step.operation().getAction()) {
+                case CREATE -> {
+                    transaction = new Transaction();
+                    transaction.setUser(user);
+                    apply(transaction, step);
+                    entityManager.persist(transaction);
+                    rollupChanges.add(transaction);
+                }
+                case UPDATE -> {
+                    rollupChanges.remove(transaction);
+                    apply(transaction, step);
+                    rollupChanges.add(transaction);
+                }
+                case DELETE -> {
+                    rollupChanges.remove(transaction);
+                    entityManager.remove(transaction);
+                }
+            }
+            saved.add(transaction);
+        }
+
+        // One flush sends the writes as JDBC batches and assigns versions and timestamps
+        entityManager.flush();
+        monthlyRollupService.apply(rollupChanges);
+        if (!steps.isEmpty()) {
+            dataVersionService.bump(user.getId());
+        }
+
+        List<TransactionBatchResult> results = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            Transaction transaction = saved.get(i);
+            Action action = step.operation().getAction();
+            if (action == Action.DELETE) {
+                results.add(new TransactionBatchResult(step.index(), action, Status.DELETED,
+                    transaction.getId(), null, null));
+            } else {
+                results.add(new TransactionBatchResult(step.index(), action,
+                    action == Action.CREATE ? Status.CREATED : Status.UPDATED,
+                    transaction.getId(), new TransactionResponse(transaction, step.category()), null));
+            }
+        }
+        return results;
+    }
+
+    private void apply(Transaction transaction, Step step) {
+        TransactionRequest request = step.operation().getTransaction();
+        // A reference is enough for the foreign key; the category row is not re-read
+        transaction.setCategory(categoryRepository.getReferenceById(step.category().getId()));
+        transaction.setAmount(request.getAmount());
+        transaction.setDescription(request.getDescription());
+        transaction.setTransactionDate(request.getTransactionDate());
+        transaction.setType(request.getType());
+        transaction.setNotes(request.getNotes());
+    }
+
+    /**
+     * Merges the failures with a NOT_APPLIED result for every operation that passed its checks.
+     */
+    private List<TransactionBatchResult> withSkipped(List<Step> steps, List<TransactionBatchResult> failures) {
+        List<TransactionBatchResult> results = new ArrayList<>(steps.size() + failures.size());
+        int next = 0;
+        for (TransactionBatchResult failure : failures) {
+            while (next < steps.size() && steps.get(next).index() < failure.getOperation()) {
+                results.add(notApplied(steps.get(next++)));
+            }
+            results.add(failure);
+        }
+        while (next < steps.size()) {
+            results.add(notApplied(steps.get(next++)));
+        }
+        return results;
+    }
+
+    private static TransactionBatchResult notApplied(Step step) {
+        TransactionBatchOperation operation = step.operation();
+        return new TransactionBatchResult(step.index(), operation.getAction(), Status.NOT_APPLIED,
+            operation.getAction() == Action.CREATE ? null : operation.getId(), null,
+            "Not applied because another operation in the batch failed");
+    }
+
+    private record Step(int index, TransactionBatchOperation operation, CategoryResponse category,
+                        Transaction target) {}
+
+    private static class StepFailure extends RuntimeException {
+
+        private final Status status;
+
+        StepFailure(Status status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
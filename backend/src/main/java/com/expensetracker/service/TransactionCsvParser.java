@@ -0,0 +1,129 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.BulkImportError;
+import com.expensetracker.dto.TransactionRequest;
+import com.expensetracker.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses a transaction CSV with a header row naming the columns amount, description,
+ * transactionDate (ISO yyyy-MM-dd), type, categoryId and optionally notes, in any order.
+ * Fields may be double-quoted, and quoted fields may contain commas, doubled quotes and line
+ * breaks, so a file from the CSV export imports as it is.
+ */
+public final class TransactionCsvParser {
+
+    private static final String[] REQUIRED_COLUMNS = {"amount", "description", "transactiondate", "type", "categoryid"};
+
+    private TransactionCsvParser() {}
+
+    /**
+     * Returns one entry per data row, in order. Rows that cannot be parsed are null and
+     * have a matching entry (1-based data row number) added to {@code errors}.
+     */
+    public static List<TransactionRequest> parse(String csv, List<BulkImportError> errors) {
+        List<List<String>> records = splitRecords(csv);
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+
+        List<TransactionRequest> rows = new ArrayList<>();
+        for (List<String> fields : records.subList(1, records.size())) {
+            int rowNumber = rows.size() + 1;
+            try {
+                TransactionRequest request = new TransactionRequest();
+                request.setAmount(new BigDecimal(field(fields, columns, "amount")));
+                request.setDescription(field(fields, columns, "description"));
+                request.setTransactionDate(LocalDate.parse(field(fields, columns, "transactiondate")));
+                request.setType(Transaction.TransactionType.valueOf(
+                    field(fields, columns, "type").toUpperCase(Locale.ROOT)));
+                request.setCategoryId(Long.valueOf(field(fields, columns, "categoryid")));
+                if (columns.containsKey("notes")) {
+                    String notes = field(fields, columns, "notes");
+                    request.setNotes(notes.isEmpty() ? null : notes);
+                }
+                rows.add(request);
+            } catch (RuntimeException e) {
+                rows.add(null);
+                errors.add(new BulkImportError(rowNumber, "Could not parse row: " + e.getMessage()));
+            }
+        }
+        return rows;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        if (index >= fields.size()) {
+            throw new IllegalArgumentException("missing value for " + name);
+        }
+        return fields.get(index).trim();
+    }
+
+    /**
+     * Splits the input into records of fields. A line break ends a record only outside quotes;
+     * blank lines are skipped.
+     */
+    private static List<List<String>> splitRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRecord(records, fields, current);
+                fields = new ArrayList<>();
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV ends inside a quoted field");
+        }
+        endRecord(records, fields, current);
+        return records;
+    }
+
+    private static void endRecord(List<List<String>> records, List<String> fields, StringBuilder current) {
+        fields.add(current.toString());
+        current.setLength(0);
+        if (fields.size() > 1 || !fields.get(0).isBlank()) {
+            records.add(fields);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.TransactionResponse;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class TransactionExportService {
+
+    // Bounds used when the caller leaves one end of the range open
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final String CSV_HEADER =
+        "id,transactionDate,type,amount,description,categoryId,categoryName,categoryColor,notes,createdAt,updatedAt";
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(TransactionRepository transactionRepository, ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the user's transactions between the given dates (inclusive, either may be null)
+     * oldest first. Rows are written as they come off the database cursor, so memory use does
+     * not depend on the number of rows. The stream is flushed but not closed.
+     */
+    public void export(User user, LocalDate from, LocalDate to, Format format, OutputStream outputStream)
+            throws IOException {
+        LocalDate startDate = from != null ? from : MIN_DATE;
+        LocalDate endDate = to != null ? to : MAX_DATE;
+
+        try (Stream<TransactionResponse> rows =
+                 transactionRepository.streamByUserAndDateBetween(user, startDate, endDate)) {
+            if (format == Format.CSV) {
+                writeCsv(rows, outputStream);
+            } else {
+                writeNdjson(rows, outputStream);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeCsv(Stream<TransactionResponse> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        rows.forEach(row -> {
+            try {
+                writer.write(csvLine(row));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeNdjson(Stream<TransactionResponse> rows, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(outputStream);
+        // Each line ends with '\n' below; the default separator would also prefix every later line with a space
+        generator.setRootValueSeparator(null);
+        rows.forEach(row -> {
+            try {
+                generator.writeObject(row);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private static String csvLine(TransactionResponse row) {
+        return String.join(",",
+            csv(row.getId()),
+            csv(row.getTransactionDate()),
+            csv(row.getType()),
+            csv(row.getAmount() != null ? row.getAmount().toPlainString() : null),
+            csv(row.getDescription()),
+            csv(row.getCategoryId()),
+            csv(row.getCategoryName()),
+            csv(row.getCategoryColor()),
+            csv(row.getNotes()),
+            csv(row.getCreatedAt()),
+            csv(row.getUpdatedAt())) + "\n";
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
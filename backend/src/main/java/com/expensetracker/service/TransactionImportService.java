@@ -0,0 +1,210 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.BulkImportError;
+import com.expensetracker.dto.BulkImportResponse;
+import com.expensetracker.dto.TransactionRequest;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class TransactionImportService {
+
+    // Rows written per COPY. Equal to the transactions_seq increment, so one nextval reserves
+    // the ids for a whole chunk
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private static final String COPY_SQL =
+        "COPY transactions (id, amount, description, transaction_date, type, category_id, user_id, notes, " +
+        "created_at, updated_at, version) FROM STDIN WITH (FORMAT csv)";
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final Validator validator;
+    private final DataVersionService dataVersionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${transactions.import.max-rows:50000}")
+    private int maxRows;
+
+    public TransactionImportService(TransactionRepository transactionRepository,
+                                    CategoryRepository categoryRepository,
+                                    MonthlyRollupService monthlyRollupService,
+                                    Validator validator,
+                                    DataVersionService dataVersionService) {
+        this.transactionRepository = transactionRepository;
+        this.categoryRepository = categoryRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.validator = validator;
+        this.dataVersionService = dataVersionService;
+    }
+
+    public BulkImportResponse importTransactions(List<TransactionRequest> requests, User user) {
+        return importRows(requests, new ArrayList<>(), user);
+    }
+
+    public BulkImportResponse importCsv(String csv, User user) {
+        List<BulkImportError> errors = new ArrayList<>();
+        List<TransactionRequest> rows = TransactionCsvParser.parse(csv, errors);
+        return importRows(rows, errors, user);
+    }
+
+    /**
+     * Inserts every valid row and reports the rest. Rows are numbered from 1 in input order;
+     * a null row is one that already failed to parse and has an error recorded.
+     */
+    private BulkImportResponse importRows(List<TransactionRequest> rows, List<BulkImportError> errors, User user) {
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("A single import is limited to " + maxRows + " rows");
+        }
+
+        // Resolve every referenced category with one query instead of one per row
+        Set<Long> categoryIds = rows.stream()
+            .filter(Objects::nonNull)
+            .map(TransactionRequest::getCategoryId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+            .collect(Collectors.toMap(Category::getId, Function.identity()));
+        Set<Long> accessibleCategoryIds = new HashSet<>();
+        for (Category category : categories.values()) {
+            if (category.getIsDefault() || category.getUser().getId().equals(user.getId())) {
+                accessibleCategoryIds.add(category.getId());
+            }
+        }
+
+        // Rollup deltas for the whole import, applied once at the end with one upsert per bucket
+        MonthlyRollupService.RollupChanges rollupChanges = new MonthlyRollupService.RollupChanges();
+        List<Transaction> pending = new ArrayList<>(FLUSH_CHUNK_SIZE);
+        int imported = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            TransactionRequest request = rows.get(i);
+            if (request == null) {
+                continue;
+            }
+
+            String problem = validate(request, categories, accessibleCategoryIds);
+            if (problem != null) {
+                errors.add(new BulkImportError(i + 1, problem));
+                continue;
+            }
+
+            Transaction transaction = new Transaction(
+                request.getAmount(),
+                request.getDescription(),
+                request.getTransactionDate(),
+                request.getType(),
+                categories.get(request.getCategoryId()),
+                user
+            );
+            transaction.setNotes(request.getNotes());
+            pending.add(transaction);
+            rollupChanges.add(transaction);
+
+            if (pending.size() == FLUSH_CHUNK_SIZE) {
+                imported += flush(pending);
+            }
+        }
+        imported += flush(pending);
+        monthlyRollupService.apply(rollupChanges);
+        if (imported > 0) {
+            dataVersionService.bump(user.getId());
+        }
+
+        errors.sort(Comparator.comparingInt(BulkImportError::getRow));
+        return new BulkImportResponse(rows.size(), imported, errors);
+    }
+
+    private String validate(TransactionRequest request, Map<Long, Category> categories,
+                            Set<Long> accessibleCategoryIds) {
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+        if (!categories.containsKey(request.getCategoryId())) {
+            return String.format("Category not found with id: '%s'", request.getCategoryId());
+        }
+        if (!accessibleCategoryIds.contains(request.getCategoryId())) {
+            return "You do not have access to this category";
+        }
+        return null;
+    }
+
+    /**
+     * Streams the pending rows into the table with one COPY on the transaction's connection.
+     * The rows never become managed entities: the import has already applied their validation,
+     * and persisting them through Hibernate cost more CPU than the database spent storing them.
+     */
+    private int flush(List<Transaction> pending) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        int count = pending.size();
+        long id = transactionRepository.reserveIdBlock() - FLUSH_CHUNK_SIZE + 1;
+        String now = LocalDateTime.now().toString();
+        StringBuilder data = new StringBuilder(count * 128);
+        for (Transaction transaction : pending) {
+            data.append(id++).append(',')
+                .append(transaction.getAmount().toPlainString()).append(',')
+                .append(quote(transaction.getDescription())).append(',')
+                .append(transaction.getTransactionDate()).append(',')
+                .append(transaction.getType().name()).append(',')
+                .append(transaction.getCategory().getId()).append(',')
+                .append(transaction.getUser().getId()).append(',')
+                // An unquoted empty field is NULL; a quoted one is an empty string
+                .append(transaction.getNotes() != null ? quote(transaction.getNotes()) : "").append(',')
+                .append(now).append(',')
+                .append(now).append(",0\n");
+        }
+        byte[] bytes = data.toString().getBytes(StandardCharsets.UTF_8);
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                copy.writeToCopy(bytes, 0, bytes.length);
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        });
+        pending.clear();
+        return count;
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
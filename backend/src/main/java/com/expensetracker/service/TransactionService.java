@@ -1,104 +1,179 @@
 package com.expensetracker.service;
 
+import com.expensetracker.dto.CategoryResponse;
+import com.expensetracker.dto.MonthlySummary;
+import com.expensetracker.dto.TransactionCursor;
+import com.expensetracker.dto.TransactionPage;
 import com.expensetracker.dto.TransactionRequest;
 import com.expensetracker.dto.TransactionResponse;
-import com.expensetracker.entity.Category;
 import com.expensetracker.entity.Transaction;
 import com.expensetracker.entity.User;
 import com.expensetracker.exception.ResourceNotFoundException;
 import com.expensetracker.exception.UnauthorizedException;
 import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.MonthlyRollupRepository;
 import com.expensetracker.repository.TransactionRepository;
-import org.springframework.data.domain.Page;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed("transaction.service")
 public class TransactionService {
 
+    private static final int MAX_SUMMARY_MONTHS = 120;
+
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final CategoryCache categoryCache;
+    private final DataVersionService dataVersionService;
 
     public TransactionService(TransactionRepository transactionRepository, 
-                             CategoryRepository categoryRepository) {
+                             CategoryRepository categoryRepository,
+                             MonthlyRollupRepository monthlyRollupRepository,
+                             MonthlyRollupService monthlyRollupService,
+                             CategoryCache categoryCache,
+                             DataVersionService dataVersionService) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.categoryCache = categoryCache;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Validates that the category exists and is a default or belongs to the user, using the
+     * category cache. The database is only consulted to pick the right error.
+     */
+    private CategoryResponse resolveCategory(Long categoryId, User user) {
+        return categoryCache.findAccessible(user, categoryId)
+            .orElseThrow(() -> categoryRepository.existsById(categoryId)
+                ? new UnauthorizedException("You do not have access to this category")
+                : new ResourceNotFoundException("Category", "id", categoryId));
     }
 
     public TransactionResponse createTransaction(TransactionRequest request, User user) {
-        // Validate category exists and belongs to user or is default
-        Category category = categoryRepository.findById(request.getCategoryId())
-            .orElseThrow(() -> new ResourceNotFoundException("Category", "id", request.getCategoryId()));
-        
-        if (!category.getIsDefault() && !category.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You do not have access to this category");
-        }
+        CategoryResponse category = resolveCategory(request.getCategoryId(), user);
 
+        // A reference is enough for the foreign key; the category row is not re-read
         Transaction transaction = new Transaction(
             request.getAmount(),
             request.getDescription(),
             request.getTransactionDate(),
             request.getType(),
-            category,
+            categoryRepository.getReferenceById(category.getId()),
             user
         );
         transaction.setNotes(request.getNotes());
 
         Transaction savedTransaction = transactionRepository.save(transaction);
-        return new TransactionResponse(savedTransaction);
+        monthlyRollupService.record(savedTransaction);
+        dataVersionService.bump(user.getId());
+        return new TransactionResponse(savedTransaction, category);
     }
 
+    /**
+     * Updates the transaction and moves it between rollup buckets in one statement. Ownership
+     * and the optional version are part of the statement's predicate, so the transaction is
+     * never loaded first; the cause of a miss is looked up only after the statement matched nothing.
+     */
     public TransactionResponse updateTransaction(Long id, TransactionRequest request, User user) {
-        Transaction transaction = transactionRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", id));
+        CategoryResponse category = resolveCategory(request.getCategoryId(), user);
 
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You do not have access to this transaction");
+        List<Object[]> rows = transactionRepository.updateOwned(
+            id,
+            user.getId(),
+            request.getVersion(),
+            request.getAmount(),
+            request.getDescription(),
+            request.getTransactionDate(),
+            request.getType().name(),
+            category.getId(),
+            request.getNotes(),
+            LocalDateTime.now()
+        );
+        if (rows.isEmpty()) {
+            throw missingOrConflict(id, user);
         }
 
-        // Validate category if changed
-        if (!transaction.getCategory().getId().equals(request.getCategoryId())) {
-            Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", request.getCategoryId()));
-            
-            if (!category.getIsDefault() && !category.getUser().getId().equals(user.getId())) {
-                throw new UnauthorizedException("You do not have access to this category");
-            }
-            transaction.setCategory(category);
+        Object[] row = rows.get(0);
+        if (((Number) row[4]).longValue() > 0) {
+            monthlyRollupRepository.deleteEmptyByUserId(user.getId());
         }
-
-        transaction.setAmount(request.getAmount());
-        transaction.setDescription(request.getDescription());
-        transaction.setTransactionDate(request.getTransactionDate());
-        transaction.setType(request.getType());
-        transaction.setNotes(request.getNotes());
-
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return new TransactionResponse(savedTransaction);
+        dataVersionService.bump(user.getId());
+        return new TransactionResponse(
+            id,
+            request.getAmount(),
+            request.getDescription(),
+            request.getTransactionDate(),
+            request.getType(),
+            request.getNotes(),
+            toLocalDateTime(row[1]),
+            toLocalDateTime(row[2]),
+            ((Number) row[3]).longValue(),
+            category.getId(),
+            category.getName(),
+            category.getColor()
+        );
     }
 
-    public void deleteTransaction(Long id, User user) {
-        Transaction transaction = transactionRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", id));
+    /**
+     * Deletes the transaction and takes it out of its rollup bucket in one statement; see
+     * {@link #updateTransaction} for how ownership and the version are checked.
+     */
+    public void deleteTransaction(Long id, Long version, User user) {
+        Object[] row = transactionRepository.deleteOwned(id, user.getId(), version).get(0);
+        if (((Number) row[0]).longValue() == 0) {
+            throw missingOrConflict(id, user);
+        }
 
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You do not have access to this transaction");
+        if (((Number) row[1]).longValue() > 0) {
+            monthlyRollupRepository.deleteEmptyByUserId(user.getId());
         }
+        dataVersionService.bump(user.getId());
+    }
+
+    /**
+     * Explains why an ownership-checked write matched no row: the transaction does not exist,
+     * belongs to someone else, or is no longer at the version the client sent.
+     */
+    private RuntimeException missingOrConflict(Long id, User user) {
+        return transactionRepository.findUserIdById(id)
+            .<RuntimeException>map(ownerId -> ownerId.equals(user.getId())
+                ? new OptimisticLockingFailureException(
+                    "Transaction " + id + " was modified by another request; reload it and try again")
+                : new UnauthorizedException("You do not have access to this transaction"))
+            .orElseGet(() -> new ResourceNotFoundException("Transaction", "id", id));
+    }
 
-        transactionRepository.delete(transaction);
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
     }
 
+    @Transactional(readOnly = true)
     public TransactionResponse getTransaction(Long id, User user) {
-        Transaction transaction = transactionRepository.findById(id)
+        Transaction transaction = transactionRepository.findWithCategoryById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", id));
 
         if (!transaction.getUser().getId().equals(user.getId())) {
@@ -108,59 +183,95 @@ public class TransactionService {
         return new TransactionResponse(transaction);
     }
 
-    public List<TransactionResponse> getUserTransactions(User user) {
-        List<Transaction> transactions = transactionRepository.findByUserOrderByTransactionDateDesc(user);
-        return transactions.stream()
-            .map(TransactionResponse::new)
-            .collect(Collectors.toList());
+    /**
+     * Hands the user's transactions, newest first, to the consumer one at a time while the
+     * database cursor is open. Rows are DTO projections, so nothing accumulates in the
+     * persistence context and memory stays bounded by the JDBC fetch size.
+     */
+    @Transactional(readOnly = true)
+    public void streamUserTransactions(User user, Consumer<TransactionResponse> consumer) {
+        try (Stream<TransactionResponse> transactions = transactionRepository.streamByUser(user)) {
+            transactions.forEach(consumer);
+        }
     }
 
     public List<TransactionResponse> getUserTransactionsPaginated(User user, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactionPage = transactionRepository.findByUser(user, pageable);
-        return transactionPage.getContent().stream()
-            .map(TransactionResponse::new)
-            .collect(Collectors.toList());
+        Slice<TransactionResponse> transactionSlice = transactionRepository.findResponsesByUser(user, pageable);
+        return transactionSlice.getContent();
+    }
+
+    public TransactionPage getUserTransactionsAfter(User user, String after, int limit) {
+        // Fetch one extra row to learn whether another page exists
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<TransactionResponse> transactions;
+        if (after == null || after.isEmpty()) {
+            transactions = transactionRepository.findResponsesByUser(user, fetchLimit);
+        } else {
+            TransactionCursor cursor = TransactionCursor.decode(after);
+            transactions = transactionRepository.findResponsesByUserAfterCursor(
+                user, cursor.getTransactionDate(), cursor.getId(), fetchLimit);
+        }
+
+        String nextCursor = null;
+        if (transactions.size() > limit) {
+            transactions = transactions.subList(0, limit);
+            TransactionResponse last = transactions.get(limit - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+
+        return new TransactionPage(transactions, nextCursor);
     }
 
     public List<TransactionResponse> getTransactionsByDateRange(User user, LocalDate startDate, LocalDate endDate) {
-        List<Transaction> transactions = transactionRepository.findByUserAndTransactionDateBetween(user, startDate, endDate);
-        return transactions.stream()
-            .map(TransactionResponse::new)
-            .collect(Collectors.toList());
+        return transactionRepository.findResponsesByUserAndDateBetween(user, startDate, endDate);
     }
 
     public List<TransactionResponse> getTransactionsByType(User user, Transaction.TransactionType type) {
-        List<Transaction> transactions = transactionRepository.findByUserAndType(user, type);
-        return transactions.stream()
-            .map(TransactionResponse::new)
-            .collect(Collectors.toList());
+        return transactionRepository.findResponsesByUserAndType(user, type);
     }
 
     public List<TransactionResponse> getMonthlyTransactions(User user, int year, int month) {
-        List<Transaction> transactions = transactionRepository.findByUserAndYearAndMonth(user, year, month);
-        return transactions.stream()
-            .map(TransactionResponse::new)
-            .collect(Collectors.toList());
+        LocalDate startDate = YearMonth.of(year, month).atDay(1);
+        return transactionRepository.findResponsesByUserAndDateRange(user, startDate, startDate.plusMonths(1));
     }
 
-    public BigDecimal getMonthlySum(User user, Transaction.TransactionType type, int year, int month) {
-        return transactionRepository.sumByUserAndTypeAndYearAndMonth(user, type, year, month);
+    public MonthlySummary getMonthlySummary(User user, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return getMonthlySummaries(user, yearMonth, yearMonth).get(0);
     }
 
-    public BigDecimal getCurrentMonthIncome(User user) {
+    public MonthlySummary getCurrentMonthSummary(User user) {
         LocalDate now = LocalDate.now();
-        return getMonthlySum(user, Transaction.TransactionType.INCOME, now.getYear(), now.getMonthValue());
+        return getMonthlySummary(user, now.getYear(), now.getMonthValue());
     }
 
-    public BigDecimal getCurrentMonthExpense(User user) {
-        LocalDate now = LocalDate.now();
-        return getMonthlySum(user, Transaction.TransactionType.EXPENSE, now.getYear(), now.getMonthValue());
+    /**
+     * Returns one summary per month from {@code from} to {@code to} inclusive, computed by a
+     * single aggregate over the monthly rollups. Months without transactions are zero-filled.
+     */
+    public List<MonthlySummary> getMonthlySummaries(User user, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (monthIndex(to) - monthIndex(from) >= MAX_SUMMARY_MONTHS) {
+            throw new IllegalArgumentException("A summary series is limited to " + MAX_SUMMARY_MONTHS + " months");
+        }
+
+        Map<YearMonth, MonthlySummary> byMonth = new HashMap<>();
+        for (MonthlySummary summary : monthlyRollupRepository.summarizeByMonth(user, monthIndex(from), monthIndex(to))) {
+            byMonth.put(YearMonth.of(summary.getYear(), summary.getMonth()), summary);
+        }
+
+        List<MonthlySummary> series = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthlySummary summary = byMonth.get(month);
+            series.add(summary != null ? summary : MonthlySummary.empty(month.getYear(), month.getMonthValue()));
+        }
+        return series;
     }
 
-    public BigDecimal getCurrentMonthBalance(User user) {
-        BigDecimal income = getCurrentMonthIncome(user);
-        BigDecimal expense = getCurrentMonthExpense(user);
-        return income.subtract(expense);
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue();
     }
 } 
\ No newline at end of file
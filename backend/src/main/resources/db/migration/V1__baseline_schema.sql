@@ -0,0 +1,39 @@
+-- Baseline schema matching the JPA entities. Existing databases created by
+-- Hibernate are baselined at this version, so these statements only run on
+-- an empty schema.
+
+CREATE TABLE IF NOT EXISTS users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(50)  NOT NULL UNIQUE,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    full_name   VARCHAR(255) NOT NULL,
+    currency    VARCHAR(3),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    type        VARCHAR(255) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    color       VARCHAR(7)   NOT NULL,
+    user_id     BIGINT REFERENCES users (id),
+    is_default  BOOLEAN,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount           NUMERIC(10, 2) NOT NULL,
+    description      VARCHAR(255)   NOT NULL,
+    transaction_date DATE           NOT NULL,
+    type             VARCHAR(255)   NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category_id      BIGINT         NOT NULL REFERENCES categories (id),
+    user_id          BIGINT         NOT NULL REFERENCES users (id),
+    notes            VARCHAR(500),
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6)
+);
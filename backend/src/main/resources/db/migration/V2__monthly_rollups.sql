@@ -0,0 +1,22 @@
+-- Monthly rollups postdate the baseline, so databases baselined at V1 get the
+-- table here, filled from their existing transactions. Databases where
+-- Hibernate already created and maintained it keep their rows.
+
+CREATE TABLE IF NOT EXISTS monthly_rollups (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT         NOT NULL REFERENCES users (id),
+    year              INTEGER        NOT NULL,
+    month             INTEGER        NOT NULL,
+    type              VARCHAR(255)   NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category_id       BIGINT         NOT NULL REFERENCES categories (id),
+    total             NUMERIC(14, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    CONSTRAINT uk_monthly_rollups_key UNIQUE (user_id, year, month, type, category_id)
+);
+
+INSERT INTO monthly_rollups (user_id, year, month, type, category_id, total, transaction_count)
+SELECT t.user_id, EXTRACT(YEAR FROM t.transaction_date), EXTRACT(MONTH FROM t.transaction_date),
+       t.type, t.category_id, SUM(t.amount), COUNT(*)
+FROM transactions t
+GROUP BY 1, 2, 3, 4, 5
+ON CONFLICT (user_id, year, month, type, category_id) DO NOTHING;
@@ -0,0 +1,7 @@
+-- Listing newest-first and date-range scans per user
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date
+    ON transactions (user_id, transaction_date DESC);
+
+-- Per-type sums and listings over a date range
+CREATE INDEX IF NOT EXISTS idx_transactions_user_type_date
+    ON transactions (user_id, type, transaction_date);
@@ -0,0 +1,6 @@
+-- Covers the (transaction_date, id) seek used by cursor pagination and
+-- supersedes the (user_id, transaction_date DESC) index
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id
+    ON transactions (user_id, transaction_date DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_transactions_user_date;
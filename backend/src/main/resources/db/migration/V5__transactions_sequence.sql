@@ -0,0 +1,6 @@
+-- Transaction ids now come from a sequence so Hibernate can batch inserts.
+-- Hibernate's pooled optimizer hands out (value - 49 .. value) per nextval,
+-- so the first value must leave room above the current maximum id.
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50;
+
+SELECT setval('transactions_seq', COALESCE((SELECT MAX(id) FROM transactions), 0) + 50, false);
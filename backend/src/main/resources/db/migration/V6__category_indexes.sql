@@ -0,0 +1,18 @@
+-- Every statement here is CONCURRENTLY, so Flyway runs the file outside a
+-- transaction and the indexes build without blocking writes.
+
+-- A user's own categories, optionally narrowed by type
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_user_type
+    ON categories (user_id, type);
+
+-- The shared default categories, a small fixed set among all users' rows
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_default
+    ON categories (name)
+    WHERE is_default = true;
+
+-- Foreign key lookups when a category is deleted or its rows are reassigned
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_category
+    ON transactions (category_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_monthly_rollups_category
+    ON monthly_rollups (category_id);
@@ -0,0 +1,3 @@
+-- Optimistic locking: every update bumps the version, and clients that send the
+-- version they read get a conflict instead of overwriting a newer edit
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Per-user data version behind conditional GETs. Every write to a user's
+-- transactions, categories or rollups increments it in the same transaction,
+-- so all backend instances see the same version once the write commits.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS data_version BIGINT NOT NULL DEFAULT 0;
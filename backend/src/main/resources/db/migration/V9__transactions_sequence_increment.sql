@@ -0,0 +1,11 @@
+-- Bulk imports reserve a whole block of ids per 1,000-row chunk with a single
+-- nextval; at 50 ids per nextval the id round trips alone were about 400
+-- statements per 20,000-row import.
+ALTER SEQUENCE transactions_seq INCREMENT BY 1000;
+
+-- A nextval now hands out (value - 999 .. value), so the next value must leave a
+-- full block above every id already used or reserved.
+SELECT setval('transactions_seq',
+              GREATEST(COALESCE((SELECT MAX(id) FROM transactions), 0),
+                       (SELECT last_value FROM transactions_seq)) + 1000,
+              false);
@@ -0,0 +1,88 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.expensetracker.support.PostgresIntegrationTest;
+import com.expensetracker.support.RecordingStatementInspector;
+import com.expensetracker.support.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAINs the SQL Hibernate generates for the per-user transaction queries, over enough
+ * users that a sequential scan would lose, and checks the planner picks the composite indexes.
+ */
+class TransactionQueryPlanTest extends PostgresIntegrationTest {
+
+    private static final int USERS = 40;
+    private static final int TRANSACTIONS_PER_USER = 500;
+    private static final LocalDate NEWEST = LocalDate.of(2026, 6, 30);
+
+    private static User user;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestDataFactory testData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createData() {
+        if (user != null) {
+            return;
+        }
+        for (int i = 0; i < USERS; i++) {
+            User created = testData.createUser();
+            testData.insertTransactions(created, TRANSACTIONS_PER_USER, NEWEST);
+            user = created;
+        }
+        testData.analyze();
+    }
+
+    @Test
+    void monthListingUsesUserDateIndex() {
+        LocalDate start = LocalDate.of(2026, 5, 1);
+        LocalDate end = start.plusMonths(1);
+
+        String sql = lastStatement(() -> transactionRepository.findResponsesByUserAndDateRange(user, start, end));
+        String plan = explain(sql, user.getId(), start, end);
+
+        assertTrue(plan.contains("idx_transactions_user_date_id"), plan);
+        assertFalse(plan.contains("Seq Scan on transactions"), plan);
+    }
+
+    @Test
+    void typeListingUsesUserTypeDateIndex() {
+        String sql = lastStatement(() ->
+            transactionRepository.findResponsesByUserAndType(user, Transaction.TransactionType.EXPENSE));
+        String plan = explain(sql, user.getId(), Transaction.TransactionType.EXPENSE.name());
+
+        assertTrue(plan.contains("idx_transactions_user_type_date"), plan);
+        assertFalse(plan.contains("Seq Scan on transactions"), plan);
+    }
+
+    private static String lastStatement(Runnable query) {
+        RecordingStatementInspector.clear();
+        query.run();
+        List<String> statements = RecordingStatementInspector.statements();
+        assertFalse(statements.isEmpty(), "No SQL was recorded");
+        return statements.get(statements.size() - 1);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        assertEquals(parameters.length, sql.chars().filter(c -> c == '?').count(), sql);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+}
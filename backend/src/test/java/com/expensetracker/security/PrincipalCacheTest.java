@@ -0,0 +1,46 @@
+package com.expensetracker.security;
+
+import com.expensetracker.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PrincipalCacheTest {
+
+    private final PrincipalCache cache = new PrincipalCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Test
+    void cachesLoadedUser() {
+        AtomicInteger loads = new AtomicInteger();
+        User first = cache.get("alice", name -> {
+            loads.incrementAndGet();
+            return new User(name, "alice@example.com", "secret", "Alice");
+        });
+        User second = cache.get("alice", name -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotOverwritten() {
+        // The user row changes and is invalidated while a request is still reading the old row
+        User stale = cache.get("alice", name -> {
+            User user = new User(name, "old@example.com", "secret", "Alice");
+            cache.invalidate(name);
+            return user;
+        });
+        User fresh = cache.get("alice", name -> new User(name, "new@example.com", "secret", "Alice"));
+
+        assertEquals("old@example.com", stale.getEmail());
+        assertEquals("new@example.com", fresh.getEmail());
+    }
+}
@@ -0,0 +1,66 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.CategoryResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryCacheTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategoryCache categoryCache =
+        new CategoryCache(categoryRepository, 100, Duration.ofMinutes(30), new SimpleMeterRegistry());
+    private final User user = new User("alice", "alice@example.com", "secret", "Alice");
+
+    private final CategoryResponse groceries = category(10L, "Groceries");
+    private final CategoryResponse travel = category(11L, "Travel");
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1L);
+        when(categoryRepository.findDefaultResponses()).thenReturn(List.of());
+    }
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        when(categoryRepository.findResponsesByUser(user)).thenReturn(List.of(groceries));
+
+        categoryCache.getCategories(user);
+        categoryCache.getCategories(user);
+
+        verify(categoryRepository, times(1)).findResponsesByUser(user);
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotOverwritten() {
+        // The first load reads the old rows, then a create commits and invalidates before the
+        // load stores its result
+        when(categoryRepository.findResponsesByUser(user))
+            .thenAnswer(invocation -> {
+                categoryCache.invalidate(user);
+                return List.of(groceries);
+            })
+            .thenReturn(List.of(groceries, travel));
+
+        assertEquals(List.of(groceries), categoryCache.getCategories(user));
+        assertTrue(categoryCache.findAccessible(user, travel.getId()).isPresent());
+        verify(categoryRepository, times(2)).findResponsesByUser(user);
+    }
+
+    private static CategoryResponse category(Long id, String name) {
+        return new CategoryResponse(id, name, null, Category.CategoryType.EXPENSE, "#000000", false);
+    }
+}
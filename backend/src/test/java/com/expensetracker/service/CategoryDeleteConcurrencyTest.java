@@ -0,0 +1,117 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.support.PostgresIntegrationTest;
+import com.expensetracker.support.TestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A category delete racing a concurrent write: the write is held open on its own connection
+ * until the delete is waiting on its lock, then committed, so the delete must see it.
+ */
+class CategoryDeleteConcurrencyTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestDataFactory testData;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void transactionAddedDuringDeleteIsReportedNotViolated() throws Exception {
+        User user = testData.createUser();
+        Category category = createCategory(user, "Doomed", Category.CategoryType.EXPENSE);
+
+        Throwable failure = raceDelete(
+            "INSERT INTO transactions (id, amount, description, transaction_date, type, category_id, " +
+            "user_id, created_at, updated_at, version) VALUES (nextval('transactions_seq'), 1, 'late', " +
+            "CURRENT_DATE, 'EXPENSE', " + category.getId() + ", " + user.getId() + ", LOCALTIMESTAMP, LOCALTIMESTAMP, 0)",
+            category.getId(), null, user);
+
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertTrue(categoryRepository.existsById(category.getId()));
+    }
+
+    @Test
+    void targetRetypedDuringDeleteIsRejected() throws Exception {
+        User user = testData.createUser();
+        Category source = createCategory(user, "Source", Category.CategoryType.EXPENSE);
+        Category target = createCategory(user, "Target", Category.CategoryType.EXPENSE);
+        jdbcTemplate.update(
+            "INSERT INTO transactions (id, amount, description, transaction_date, type, category_id, " +
+            "user_id, created_at, updated_at, version) VALUES (nextval('transactions_seq'), 1, 'moving', " +
+            "CURRENT_DATE, 'EXPENSE', ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP, 0)",
+            source.getId(), user.getId());
+
+        Throwable failure = raceDelete(
+            "UPDATE categories SET type = 'INCOME' WHERE id = " + target.getId(),
+            source.getId(), target.getId(), user);
+
+        assertInstanceOf(IllegalArgumentException.class, failure);
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM transactions WHERE category_id = ?", Integer.class, source.getId()));
+    }
+
+    private Category createCategory(User user, String name, Category.CategoryType type) {
+        return categoryRepository.save(new Category(name + "-" + System.nanoTime(), null, type, "#000000", user));
+    }
+
+    /**
+     * Runs {@code sql} in an open transaction, starts the delete, commits once the delete is
+     * blocked on a lock and returns what the delete threw.
+     */
+    private Throwable raceDelete(String sql, Long id, Long reassignTo, User user) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.executeUpdate();
+            }
+            CompletableFuture<Long> delete =
+                CompletableFuture.supplyAsync(() -> categoryService.deleteCategory(id, reassignTo, user));
+            awaitLockWait(delete);
+            connection.commit();
+
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> delete.get(10, TimeUnit.SECONDS));
+            return thrown.getCause();
+        }
+    }
+
+    private void awaitLockWait(CompletableFuture<?> delete) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline && !delete.isDone()) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE datname = current_database() AND wait_event_type = 'Lock'",
+                Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Delete never waited for the concurrent write");
+    }
+}
@@ -0,0 +1,58 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.BulkImportError;
+import com.expensetracker.dto.TransactionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionCsvParserTest {
+
+    @Test
+    void readsExportedRowsWithQuotedLineBreaks() {
+        // Header and quoting as written by TransactionExportService
+        String csv = "id,transactionDate,type,amount,description,categoryId,categoryName,categoryColor,notes,createdAt,updatedAt\r\n" +
+                     "7,2026-03-01,EXPENSE,12.50,\"Dinner, \"\"Luigi's\"\"\",3,Food,#ff0000,\"first line\nsecond line\",,\n" +
+                     "\n" +
+                     "8,2026-03-02,INCOME,100.00,Salary,4,Salary,#00ff00,,,\n";
+        List<BulkImportError> errors = new ArrayList<>();
+
+        List<TransactionRequest> rows = TransactionCsvParser.parse(csv, errors);
+
+        assertTrue(errors.isEmpty());
+        assertEquals(2, rows.size());
+        assertEquals("Dinner, \"Luigi's\"", rows.get(0).getDescription());
+        assertEquals("first line\nsecond line", rows.get(0).getNotes());
+        assertEquals("Salary", rows.get(1).getDescription());
+        assertNull(rows.get(1).getNotes());
+    }
+
+    @Test
+    void reportsUnparseableRowsByDataRowNumber() {
+        String csv = "amount,description,transactionDate,type,categoryId\n" +
+                     "5,Coffee,2026-03-01,EXPENSE,3\n" +
+                     "lots,Tea,2026-03-02,EXPENSE,3\n";
+        List<BulkImportError> errors = new ArrayList<>();
+
+        List<TransactionRequest> rows = TransactionCsvParser.parse(csv, errors);
+
+        assertEquals(2, rows.size());
+        assertNull(rows.get(1));
+        assertEquals(1, errors.size());
+        assertEquals(2, errors.get(0).getRow());
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        String csv = "amount,description,transactionDate,type,categoryId\n" +
+                     "5,\"Coffee,2026-03-01,EXPENSE,3\n";
+
+        assertThrows(IllegalArgumentException.class, () -> TransactionCsvParser.parse(csv, new ArrayList<>()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.TransactionPage;
+import com.expensetracker.dto.TransactionResponse;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.expensetracker.support.PostgresIntegrationTest;
+import com.expensetracker.support.TestDataFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Every transaction listing is one SQL statement however many rows and categories it
+ * returns: rows are DTO projections with the category joined, so nothing is lazily loaded.
+ */
+class TransactionListingStatementCountTest extends PostgresIntegrationTest {
+
+    private static final LocalDate NEWEST = LocalDate.of(2026, 6, 30);
+
+    private static User user;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestDataFactory testData;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void createData() {
+        if (user == null) {
+            // Spread over several categories, so a per-row category load would show up
+            User created = testData.createUser();
+            testData.insertTransactions(created, 90, NEWEST);
+            user = created;
+        }
+    }
+
+    @Test
+    void streamedListIsOneStatement() {
+        assertSingleStatement(() -> {
+            List<TransactionResponse> rows = new ArrayList<>();
+            transactionService.streamUserTransactions(user, rows::add);
+            return rows;
+        });
+    }
+
+    @Test
+    void offsetPageIsOneStatement() {
+        assertSingleStatement(() -> transactionService.getUserTransactionsPaginated(user, 1, 20));
+    }
+
+    @Test
+    void cursorPagesAreOneStatementEach() {
+        TransactionPage first = assertSingleStatement(() -> transactionService.getUserTransactionsAfter(user, null, 20));
+        assertSingleStatement(() -> transactionService.getUserTransactionsAfter(user, first.getNextCursor(), 20));
+    }
+
+    @Test
+    void dateRangeIsOneStatement() {
+        assertSingleStatement(() -> transactionService.getTransactionsByDateRange(
+            user, NEWEST.minusDays(45), NEWEST));
+    }
+
+    @Test
+    void typeListingIsOneStatement() {
+        assertSingleStatement(() -> transactionService.getTransactionsByType(
+            user, Transaction.TransactionType.EXPENSE));
+    }
+
+    @Test
+    void monthListingIsOneStatement() {
+        assertSingleStatement(() -> transactionService.getMonthlyTransactions(
+            user, NEWEST.getYear(), NEWEST.getMonthValue()));
+    }
+
+    private <T> T assertSingleStatement(Supplier<T> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        T result = listing.get();
+
+        assertFalse(result instanceof List<?> rows && rows.isEmpty(), "The listing returned no rows");
+        assertEquals(1, statistics.getPrepareStatementCount(), "SQL statements prepared");
+        assertEquals(0, statistics.getEntityLoadCount(), "Entities loaded");
+        return result;
+    }
+}
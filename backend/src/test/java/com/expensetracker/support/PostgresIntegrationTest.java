@@ -0,0 +1,33 @@
+package com.expensetracker.support;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Base for tests that need the full application against PostgreSQL with the Flyway schema.
+ * Subclasses share one application context, so they must not add their own properties.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.expensetracker.support.RecordingStatementInspector",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+    // Random port, so tests do not collide with a running backend's management server
+    "management.server.port=0"
+})
+public abstract class PostgresIntegrationTest {
+
+    @BeforeAll
+    static void requireDatabase() {
+        Assumptions.assumeTrue(PostgresTestDatabase.isAvailable(),
+            "PostgreSQL cannot run as root; set TEST_DATABASE_URL to a disposable database");
+    }
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.registerProperties(registry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.expensetracker.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * One PostgreSQL server for the whole test run, unpacked from a Maven artifact into a temp
+ * directory. PostgreSQL refuses to start as root, so where tests run as root they need an
+ * existing, disposable database in TEST_DATABASE_URL (with TEST_DATABASE_USERNAME and
+ * TEST_DATABASE_PASSWORD) instead.
+ */
+public final class PostgresTestDatabase {
+
+    private static final String URL = System.getenv("TEST_DATABASE_URL");
+
+    private static EmbeddedPostgres embedded;
+
+    private PostgresTestDatabase() {}
+
+    public static boolean isAvailable() {
+        return URL != null || !"root".equals(System.getProperty("user.name"));
+    }
+
+    public static synchronized void registerProperties(DynamicPropertyRegistry registry) {
+        if (URL != null) {
+            registry.add("spring.datasource.url", () -> URL);
+            registry.add("spring.datasource.username", () -> env("TEST_DATABASE_USERNAME", "postgres"));
+            registry.add("spring.datasource.password", () -> env("TEST_DATABASE_PASSWORD", "postgres"));
+            return;
+        }
+        if (embedded == null) {
+            try {
+                embedded = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    embedded.close();
+                } catch (IOException ignored) {
+                    // The temp directory is left behind; nothing else to clean up
+                }
+            }));
+        }
+        registry.add("spring.datasource.url", () -> embedded.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,84 @@
+package com.expensetracker.support;
+
+import com.expensetracker.dto.CategoryResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.service.MonthlyRollupService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates users and bulk transaction data directly in the database. Names are unique per
+ * call, so tests can run repeatedly against the same database.
+ */
+@Component
+public class TestDataFactory {
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestDataFactory(UserRepository userRepository, CategoryRepository categoryRepository,
+                           MonthlyRollupService monthlyRollupService, JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public User createUser() {
+        String name = "test-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(name, name + "@example.com", "not-a-hash", "Test User"));
+    }
+
+    /**
+     * Inserts {@code count} transactions for the user, one per day going back from
+     * {@code newest}, alternating between income and expense and across the default
+     * categories of each type, then rebuilds the user's rollups.
+     */
+    public void insertTransactions(User user, int count, LocalDate newest) {
+        List<CategoryResponse> defaults = categoryRepository.findDefaultResponses();
+        Long[] expense = idsOf(defaults, Category.CategoryType.EXPENSE);
+        Long[] income = idsOf(defaults, Category.CategoryType.INCOME);
+
+        jdbcTemplate.update(
+            "INSERT INTO transactions (id, amount, description, transaction_date, type, category_id, " +
+            "user_id, created_at, updated_at, version) " +
+            "SELECT nextval('transactions_seq'), 1 + (n % 500), 'generated ' || n, CAST(? AS date) - n, " +
+            "CASE WHEN n % 2 = 0 THEN 'EXPENSE' ELSE 'INCOME' END, " +
+            "CASE WHEN n % 2 = 0 THEN (CAST(? AS bigint[]))[1 + n % ?] ELSE (CAST(? AS bigint[]))[1 + n % ?] END, " +
+            "?, LOCALTIMESTAMP, LOCALTIMESTAMP, 0 FROM generate_series(0, ? - 1) AS n",
+            newest, array(expense), expense.length, array(income), income.length, user.getId(), count);
+        monthlyRollupService.rebuild(user.getId());
+    }
+
+    /**
+     * Refreshes planner statistics so EXPLAIN reflects the data just inserted.
+     */
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE transactions");
+        jdbcTemplate.execute("ANALYZE monthly_rollups");
+    }
+
+    private static Long[] idsOf(List<CategoryResponse> categories, Category.CategoryType type) {
+        return categories.stream()
+            .filter(category -> category.getType() == type)
+            .map(CategoryResponse::getId)
+            .toArray(Long[]::new);
+    }
+
+    private static String array(Long[] ids) {
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < ids.length; i++) {
+            literal.append(i > 0 ? "," : "").append(ids[i]);
+        }
+        return literal.append('}').toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.expensetracker.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Properties;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line and, unless a result
+ * file is given with -rff, writes JSON results to results/&lt;backend version&gt;/jmh-&lt;timestamp&gt;.json
+ * so runs can be compared across releases.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (commandLine.getResult().hasValue()) {
+            options.resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON));
+        } else {
+            Path resultFile = defaultResultFile();
+            Files.createDirectories(resultFile.getParent());
+            options.resultFormat(ResultFormatType.JSON).result(resultFile.toString());
+            System.out.println("Writing JSON results to " + resultFile);
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    private static Path defaultResultFile() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkRunner.class.getResourceAsStream("/benchmarks.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        String version = properties.getProperty("backend.version", "unknown");
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return Path.of("results", version, "jmh-" + timestamp + ".json");
+    }
+}
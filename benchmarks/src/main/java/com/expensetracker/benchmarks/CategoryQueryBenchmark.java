@@ -0,0 +1,103 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.ExpenseTrackerBackendApplication;
+import com.expensetracker.dto.CategoryResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and serializing one user's categories. {@link #entities} reads {@link Category}
+ * entities and converts them, as the category cache used to; {@link #projections} selects
+ * {@link CategoryResponse} DTOs directly. Both run in a read-only transaction on the real
+ * repositories, so the persistence context work is included.
+ * <p>
+ * Needs a PostgreSQL database: the backend is started in the fork with its usual
+ * DATABASE_URL, DATABASE_USERNAME and DATABASE_PASSWORD environment variables. A throwaway
+ * user and its categories are created for the trial and deleted afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategoryQueryBenchmark {
+
+    @Param({"10", "100"})
+    private int userCategories;
+
+    private ConfigurableApplicationContext context;
+    private CategoryRepository categoryRepository;
+    private UserRepository userRepository;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(ExpenseTrackerBackendApplication.class)
+            .run("--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        categoryRepository = context.getBean(CategoryRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        String name = "bench" + Long.toString(System.nanoTime(), 36);
+        user = userRepository.save(new User(name, name + "@example.com", "$2a$10$placeholder", "Benchmark User"));
+        List<Category> categories = new ArrayList<>(userCategories);
+        for (int i = 0; i < userCategories; i++) {
+            Category category = new Category("Custom " + i, "Custom " + i + " transactions",
+                                              Category.CategoryType.EXPENSE, "#4ECDC4", user);
+            category.setIsDefault(false);
+            categories.add(category);
+        }
+        categoryRepository.saveAll(categories);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        categoryRepository.deleteAllInBatch(categoryRepository.findByUser(user));
+        userRepository.delete(user);
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entities() {
+        return readOnly.execute(status -> {
+            List<CategoryResponse> responses = new ArrayList<>();
+            for (Category category : categoryRepository.findByUser(user)) {
+                responses.add(new CategoryResponse(category));
+            }
+            return serialize(responses);
+        });
+    }
+
+    @Benchmark
+    public byte[] projections() {
+        return readOnly.execute(status -> serialize(categoryRepository.findResponsesByUser(user)));
+    }
+
+    private byte[] serialize(List<CategoryResponse> responses) {
+        try {
+            return objectMapper.writeValueAsBytes(responses);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
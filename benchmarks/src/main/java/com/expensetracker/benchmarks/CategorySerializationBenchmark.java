@@ -0,0 +1,61 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.dto.CategoryResponse;
+import com.expensetracker.entity.Category;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing the category list returned by CategoryController. {@link #entities} writes
+ * {@link Category} entities directly, as the controller used to; {@link #cachedResponses}
+ * writes the shared {@link CategoryResponse} list the category cache now hands out.
+ * The entities are defaults without an owning user, since serializing a user-owned entity
+ * would also write the user.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategorySerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private List<Category> categories;
+    private List<CategoryResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        categories = Fixtures.categories(null, 0);
+        responses = toResponses(categories);
+    }
+
+    @Benchmark
+    public byte[] entities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(categories);
+    }
+
+    @Benchmark
+    public byte[] cachedResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toResponses(categories));
+    }
+
+    private static List<CategoryResponse> toResponses(List<Category> categories) {
+        List<CategoryResponse> responses = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            responses.add(new CategoryResponse(category));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,112 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shaped like what the application stores, plus helpers for wiring
+ * backend components without a Spring context.
+ */
+final class Fixtures {
+
+    // Same defaults DataInitializer seeds
+    private static final String[] EXPENSE_CATEGORIES = {
+        "Food & Dining", "Transportation", "Shopping", "Entertainment", "Bills & Utilities",
+        "Healthcare", "Education", "Travel", "Personal Care", "Home & Garden"
+    };
+    private static final String[] INCOME_CATEGORIES = {
+        "Salary", "Freelance", "Business", "Investment", "Bonus", "Gift", "Other Income"
+    };
+
+    private Fixtures() {}
+
+    /**
+     * An ObjectMapper configured the way Spring Boot configures the application's one.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    static User user() {
+        User user = new User("benchmark", "benchmark@example.com", "$2a$10$placeholder", "Benchmark User");
+        user.setId(1L);
+        return user;
+    }
+
+    static List<Category> categories(User user, int userCategories) {
+        List<Category> categories = new ArrayList<>();
+        long id = 1;
+        for (String name : EXPENSE_CATEGORIES) {
+            categories.add(category(id++, name, Category.CategoryType.EXPENSE, null));
+        }
+        for (String name : INCOME_CATEGORIES) {
+            categories.add(category(id++, name, Category.CategoryType.INCOME, null));
+        }
+        for (int i = 0; i < userCategories; i++) {
+            categories.add(category(id++, "Custom " + i, Category.CategoryType.EXPENSE, user));
+        }
+        return categories;
+    }
+
+    private static Category category(long id, String name, Category.CategoryType type, User user) {
+        Category category = new Category(name, name + " transactions", type, "#4ECDC4", user);
+        category.setId(id);
+        category.setIsDefault(user == null);
+        category.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        category.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return category;
+    }
+
+    static List<Transaction> transactions(User user, List<Category> categories, int count) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.of(2024, 12, 31);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Category category = categories.get(random.nextInt(categories.size()));
+            Transaction transaction = new Transaction(
+                BigDecimal.valueOf(random.nextInt(500_000), 2),
+                "Transaction " + i,
+                today.minusDays(random.nextInt(730)),
+                Transaction.TransactionType.valueOf(category.getType().name()),
+                category,
+                user
+            );
+            transaction.setId((long) i + 1);
+            transaction.setNotes(i % 4 == 0 ? "Paid by card" : null);
+            transaction.setCreatedAt(transaction.getTransactionDate().atTime(12, 0));
+            transaction.setUpdatedAt(transaction.getCreatedAt());
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    /**
+     * Sets a field that Spring would normally inject, e.g. an {@code @Value} property.
+     */
+    static void inject(Object target, String fieldName, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    static void invoke(Object target, String methodName) throws ReflectiveOperationException {
+        Method method = target.getClass().getDeclaredMethod(methodName);
+        method.setAccessible(true);
+        method.invoke(target);
+    }
+}
@@ -0,0 +1,73 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.entity.User;
+import com.expensetracker.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and validation as done on every authenticated request.
+ * {@link #validateBeforeSinglePass} reproduces the earlier filter path, which parsed the
+ * token three times and re-derived the key and parser for each parse, for comparison
+ * with the current single-parse {@link #validate}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    // Same length as the default jwt.secret
+    private static final String SECRET = "myVerySecureSecretKeyThatIsAtLeast256BitsLongForJWTSigning";
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtUtil = new JwtUtil();
+        Fixtures.inject(jwtUtil, "secret", SECRET);
+        Fixtures.inject(jwtUtil, "expiration", 86_400_000L);
+        Fixtures.invoke(jwtUtil, "init");
+
+        user = Fixtures.user();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        Claims claims = jwtUtil.parseToken(token);
+        return jwtUtil.validateClaims(claims, user);
+    }
+
+    @Benchmark
+    public boolean validateBeforeSinglePass() {
+        String username = legacyParse(token).getSubject();
+        boolean valid = legacyParse(token).getSubject().equals(user.getUsername())
+            && !legacyParse(token).getExpiration().before(new Date());
+        return username != null && valid;
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
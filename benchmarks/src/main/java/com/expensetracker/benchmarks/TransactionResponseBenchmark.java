@@ -0,0 +1,65 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.dto.TransactionResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building {@link TransactionResponse} lists and serializing them, the bulk of the work
+ * behind the transaction list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionResponseBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Transaction> transactions;
+    private List<TransactionResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        User user = Fixtures.user();
+        List<Category> categories = Fixtures.categories(user, 4);
+        transactions = Fixtures.transactions(user, categories, size);
+        responses = toResponses(transactions);
+    }
+
+    @Benchmark
+    public List<TransactionResponse> construct() {
+        return toResponses(transactions);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] constructAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toResponses(transactions));
+    }
+
+    private static List<TransactionResponse> toResponses(List<Transaction> transactions) {
+        List<TransactionResponse> responses = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            responses.add(new TransactionResponse(transaction));
+        }
+        return responses;
+    }
+}
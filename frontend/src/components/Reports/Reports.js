@@ -8,7 +8,7 @@ import './Reports.css';
 
 const Reports = () => {
   const { axiosInstance, currency } = useAuth();
-  const [transactions, setTransactions] = useState([]);
+  const [report, setReport] = useState({ categoryTotals: [], typeTotals: [] });
   const [summary, setSummary] = useState({});
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
@@ -17,15 +17,24 @@ const Reports = () => {
 
   const COLORS = ['#ff6b6b', '#4ecdc4', '#45b7d1', '#96ceb4', '#ffeaa7', '#dda0dd', '#98d8c8', '#f7dc6f'];
 
+  const formatDate = (date) => {
+    const month = String(date.getMonth() + 1).padStart(2, '0');
+    const day = String(date.getDate()).padStart(2, '0');
+    return `${date.getFullYear()}-${month}-${day}`;
+  };
+
   const fetchData = useCallback(async () => {
     try {
       setLoading(true);
-      const [transactionsResponse, summaryResponse] = await Promise.all([
-        axiosInstance.get('/transactions'),
+      // Six months ending with the selected one, aggregated on the server
+      const startDate = formatDate(new Date(selectedYear, selectedMonth - 6, 1));
+      const endDate = formatDate(new Date(selectedYear, selectedMonth, 0));
+      const [reportResponse, summaryResponse] = await Promise.all([
+        axiosInstance.get('/reports', { params: { startDate, endDate } }),
         axiosInstance.get(`/transactions/summary/${selectedYear}/${selectedMonth}`)
       ]);
       
-      setTransactions(transactionsResponse.data);
+      setReport(reportResponse.data);
       setSummary(summaryResponse.data);
       setError('');
     } catch (error) {
@@ -48,49 +57,37 @@ const Reports = () => {
   };
 
   const getCategoryData = (type) => {
-    const filteredTransactions = transactions.filter(t => 
-      t.type === type && 
-      new Date(t.transactionDate).getMonth() + 1 === selectedMonth &&
-      new Date(t.transactionDate).getFullYear() === selectedYear
-    );
-    
-    const categoryTotals = {};
-    filteredTransactions.forEach(transaction => {
-      const category = transaction.categoryName;
-      if (categoryTotals[category]) {
-        categoryTotals[category] += Math.abs(transaction.amount);
-      } else {
-        categoryTotals[category] = Math.abs(transaction.amount);
-      }
-    });
-
-    return Object.entries(categoryTotals).map(([name, value]) => ({
-      name,
-      value: parseFloat(value.toFixed(2))
-    }));
+    return report.categoryTotals
+      .filter(total => 
+        total.type === type && 
+        total.month === selectedMonth &&
+        total.year === selectedYear
+      )
+      .map(total => ({
+        name: total.categoryName,
+        value: parseFloat(Math.abs(total.total).toFixed(2))
+      }));
   };
 
   const getMonthlyData = () => {
     const monthlyData = {};
     
-    transactions.forEach(transaction => {
-      const date = new Date(transaction.transactionDate);
-      const monthKey = `${date.getFullYear()}-${String(date.getMonth() + 1).padStart(2, '0')}`;
+    report.typeTotals.forEach(total => {
+      const monthKey = `${total.year}-${String(total.month).padStart(2, '0')}`;
       
       if (!monthlyData[monthKey]) {
         monthlyData[monthKey] = { month: monthKey, income: 0, expense: 0 };
       }
       
-      if (transaction.type === 'INCOME') {
-        monthlyData[monthKey].income += transaction.amount;
+      if (total.type === 'INCOME') {
+        monthlyData[monthKey].income += total.total;
       } else {
-        monthlyData[monthKey].expense += Math.abs(transaction.amount);
+        monthlyData[monthKey].expense += Math.abs(total.total);
       }
     });
 
     return Object.values(monthlyData)
-      .sort((a, b) => a.month.localeCompare(b.month))
-      .slice(-6); // Last 6 months
+      .sort((a, b) => a.month.localeCompare(b.month));
   };
 
   const expenseData = getCategoryData('EXPENSE');
@@ -224,7 +221,7 @@ const Reports = () => {
         )}
       </div>
 
-      {transactions.length === 0 && (
+      {report.typeTotals.length === 0 && (
         <div className="no-data">
           <h2>No Data Available</h2>
           <p>Start adding transactions to see detailed reports and analytics.</p>
@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+#
+# Compares platform-thread and virtual-thread request handling at high concurrency.
+#
+# Runs the load-test harness twice with the same data set and scenarios, once with
+# VIRTUAL_THREADS_ENABLED=false and once with true. The backend process inherits the
+# variable. Needs a Java 21+ runtime, since virtual threads are ignored on 17.
+#
+# Usage: loadtest/compare-threads.sh [concurrency] [extra harness options...]
+#   concurrency defaults to 400, well above Tomcat's 200 platform threads.
+#   DB_POOL_SIZE is passed through unchanged, so both runs share one pool size.
+
+set -euo pipefail
+
+CONCURRENCY="${1:-400}"
+shift || true
+
+cd "$(dirname "$0")"
+if [[ ! -f target/loadtest.jar ]]; then
+    echo "Build the harness first: mvn -f backend/pom.xml package -DskipTests && mvn -f loadtest/pom.xml package" >&2
+    exit 1
+fi
+
+RESULTS_DIR="target/loadtest-results/compare-threads-$(date +%Y%m%d-%H%M%S)"
+mkdir -p "$RESULTS_DIR"
+
+for virtual in false true; do
+    echo "== VIRTUAL_THREADS_ENABLED=$virtual, concurrency $CONCURRENCY"
+    VIRTUAL_THREADS_ENABLED="$virtual" java -jar target/loadtest.jar \
+        --concurrency="$CONCURRENCY" \
+        --scenarios=dashboard,list,summary \
+        --output="$RESULTS_DIR/virtual-$virtual.json" \
+        "$@"
+done
+
+echo "Results for both modes are in $RESULTS_DIR"
@@ -0,0 +1,123 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Thin JSON client for the backend API. Timed calls are recorded under an endpoint label
+ * when a {@link LatencyStats} is given and are not recorded during warmup.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiClient(String baseUrl, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 4)))
+            .build();
+    }
+
+    Session login(String username, String password) throws IOException, InterruptedException {
+        send(post("/auth/register", null, Map.of(
+            "username", username,
+            "email", username + "@loadtest.example.com",
+            "password", password,
+            "fullName", "Load Test " + username)));
+        JsonNode jwt = objectMapper.readTree(expectOk(send(post("/auth/login", null, Map.of(
+            "username", username,
+            "password", password)))));
+        String token = jwt.get("token").asText();
+
+        List<Long> expense = new ArrayList<>();
+        List<Long> income = new ArrayList<>();
+        for (JsonNode category : objectMapper.readTree(expectOk(send(get("/categories", token))))) {
+            ("INCOME".equals(category.get("type").asText()) ? income : expense).add(category.get("id").asLong());
+        }
+        return new Session(username, token, expense, income);
+    }
+
+    /**
+     * Sends a request outside of any measurement and returns the body, failing on non-2xx.
+     */
+    String call(HttpRequest request) throws IOException, InterruptedException {
+        return expectOk(send(request));
+    }
+
+    /**
+     * Sends a request and records its latency. Returns the body, or null if the call failed.
+     */
+    String timed(String endpoint, HttpRequest request, LatencyStats stats) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            if (stats != null) {
+                stats.record(endpoint, System.nanoTime() - start, false);
+            }
+            return null;
+        }
+        boolean success = response.statusCode() / 100 == 2;
+        if (stats != null) {
+            stats.record(endpoint, System.nanoTime() - start, success);
+        }
+        return success ? response.body() : null;
+    }
+
+    HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    HttpRequest post(String path, String token, Object body) {
+        try {
+            return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    JsonNode readTree(String json) throws IOException {
+        return objectMapper.readTree(json);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String expectOk(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,114 @@
+package com.expensetracker.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the packaged backend in its own JVM so the load generator does not compete with it
+ * for heap and GC. Environment variables set for the harness (e.g. VIRTUAL_THREADS_ENABLED,
+ * DB_POOL_SIZE) are inherited by the backend.
+ */
+final class BackendProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private BackendProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static BackendProcess start(Path jar, String jdbcUrl, String username, String password, Path log)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        ProcessBuilder builder = new ProcessBuilder(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", jar.toString());
+        Map<String, String> environment = builder.environment();
+        environment.put("DATABASE_URL", jdbcUrl);
+        environment.put("DATABASE_USERNAME", username);
+        environment.put("DATABASE_PASSWORD", password);
+        environment.put("SERVER_PORT", String.valueOf(port));
+        environment.put("MANAGEMENT_PORT", String.valueOf(freePort()));
+        environment.putIfAbsent("LOGGING_LEVEL_COM_EXPENSETRACKER", "WARN");
+        Files.createDirectories(log.getParent());
+        builder.redirectErrorStream(true).redirectOutput(log.toFile());
+
+        BackendProcess backend = new BackendProcess(builder.start(), "http://localhost:" + port + "/api");
+        try {
+            backend.awaitHealthy(log);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            backend.close();
+            throw e;
+        }
+        return backend;
+    }
+
+    /**
+     * Finds the Spring Boot executable jar in backend/target.
+     */
+    static Path findJar() throws IOException {
+        for (Path candidate : new Path[] { Path.of("backend", "target"), Path.of("..", "backend", "target") }) {
+            if (!Files.isDirectory(candidate)) {
+                continue;
+            }
+            try (DirectoryStream<Path> jars = Files.newDirectoryStream(candidate, "*-exec.jar")) {
+                for (Path jar : jars) {
+                    return jar;
+                }
+            }
+        }
+        throw new IllegalStateException(
+            "No backend jar found; run 'mvn -f backend/pom.xml package -DskipTests' or pass --backend-jar");
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    private void awaitHealthy(Path log) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/readyz")).build();
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited during startup; see " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Backend did not become healthy within " + STARTUP_TIMEOUT + "; see " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
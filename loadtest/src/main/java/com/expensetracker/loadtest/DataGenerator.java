@@ -0,0 +1,77 @@
+package com.expensetracker.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Registers the load-test users and fills each with transactions spread over the last two
+ * years across the default categories seeded by DataInitializer. The same seed produces the
+ * same amounts, dates and categories.
+ */
+final class DataGenerator {
+
+    static final String PASSWORD = "loadtest-password";
+
+    // Stays well under transactions.import.max-rows
+    private static final int IMPORT_CHUNK = 5000;
+    private static final int HISTORY_DAYS = 730;
+
+    private final ApiClient client;
+    private final Random random;
+
+    DataGenerator(ApiClient client, long seed) {
+        this.client = client;
+        this.random = new Random(seed);
+    }
+
+    List<Session> generate(int users, int transactionsPerUser) throws IOException, InterruptedException {
+        // Unique per run so an external database can be reused without mixing data sets
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Session session = client.login("lt" + runId + "u" + i, PASSWORD);
+            importTransactions(session, transactionsPerUser);
+            sessions.add(session);
+            System.out.printf("  user %d/%d: %s, %d transactions%n", i + 1, users, session.username(), transactionsPerUser);
+        }
+        return sessions;
+    }
+
+    private void importTransactions(Session session, int count) throws IOException, InterruptedException {
+        LocalDate today = LocalDate.now();
+        for (int offset = 0; offset < count; offset += IMPORT_CHUNK) {
+            int size = Math.min(IMPORT_CHUNK, count - offset);
+            List<Map<String, Object>> chunk = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                chunk.add(transaction(session, today.minusDays(random.nextInt(HISTORY_DAYS)), offset + i));
+            }
+            client.call(client.post("/transactions/bulk", session.token(), chunk));
+        }
+    }
+
+    /**
+     * A transaction request body. Roughly one in eight is income, with larger amounts.
+     */
+    Map<String, Object> transaction(Session session, LocalDate date, int sequence) {
+        boolean income = random.nextInt(8) == 0;
+        List<Long> categories = income ? session.incomeCategoryIds() : session.expenseCategoryIds();
+        BigDecimal amount = BigDecimal.valueOf(income ? 50_000 + random.nextInt(500_000) : 100 + random.nextInt(20_000), 2);
+
+        Map<String, Object> transaction = new LinkedHashMap<>();
+        transaction.put("amount", amount);
+        transaction.put("description", (income ? "Income " : "Expense ") + sequence);
+        transaction.put("transactionDate", date.toString());
+        transaction.put("type", income ? "INCOME" : "EXPENSE");
+        transaction.put("categoryId", categories.get(random.nextInt(categories.size())));
+        if (random.nextInt(4) == 0) {
+            transaction.put("notes", "Generated by the load-test harness");
+        }
+        return transaction;
+    }
+}
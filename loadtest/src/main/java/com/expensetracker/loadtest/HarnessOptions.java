@@ -0,0 +1,82 @@
+package com.expensetracker.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. Every option has a default, so the
+ * harness runs with no arguments at all.
+ */
+final class HarnessOptions {
+
+    final int users;
+    final int transactionsPerUser;
+    final long seed;
+    final int concurrency;
+    final Duration warmup;
+    final Duration duration;
+    final List<Scenario> scenarios;
+    final String baseUrl;
+    final Path backendJar;
+    final String jdbcUrl;
+    final String dbUsername;
+    final String dbPassword;
+    final Path output;
+
+    private HarnessOptions(Map<String, String> values) {
+        this.users = Integer.parseInt(values.getOrDefault("users", "10"));
+        this.transactionsPerUser = Integer.parseInt(values.getOrDefault("transactions", "5000"));
+        this.seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        this.concurrency = Integer.parseInt(values.getOrDefault("concurrency", "50"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30")));
+        this.scenarios = parseScenarios(values.getOrDefault("scenarios", "dashboard,list,summary,create"));
+        this.baseUrl = values.get("base-url");
+        this.backendJar = values.containsKey("backend-jar") ? Path.of(values.get("backend-jar")) : null;
+        this.jdbcUrl = values.get("jdbc-url");
+        this.dbUsername = values.getOrDefault("db-username", "postgres");
+        this.dbPassword = values.getOrDefault("db-password", "postgres");
+        this.output = values.containsKey("output") ? Path.of(values.get("output")) : null;
+
+        if (users < 1 || transactionsPerUser < 0 || concurrency < 1) {
+            throw new IllegalArgumentException("users and concurrency must be positive, transactions non-negative");
+        }
+    }
+
+    static HarnessOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new HarnessOptions(values);
+    }
+
+    private static List<Scenario> parseScenarios(String value) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : value.split(",")) {
+            scenarios.add(Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        }
+        return scenarios;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("users", users);
+        description.put("transactionsPerUser", transactionsPerUser);
+        description.put("seed", seed);
+        description.put("concurrency", concurrency);
+        description.put("warmupSeconds", warmup.toSeconds());
+        description.put("durationSeconds", duration.toSeconds());
+        description.put("database", jdbcUrl != null ? "external" : baseUrl != null ? "backend-managed" : "embedded");
+        return description;
+    }
+}
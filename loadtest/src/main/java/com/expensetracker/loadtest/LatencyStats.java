@@ -0,0 +1,40 @@
+package com.expensetracker.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts for one measured scenario run.
+ * Safe to record into from many worker threads.
+ */
+final class LatencyStats {
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(3)).recordValue(nanos);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Snapshots every endpoint's histogram. Call once, after the workers have stopped.
+     */
+    Map<String, Histogram> histograms() {
+        Map<String, Histogram> histograms = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> histograms.put(endpoint, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    long errors(String endpoint) {
+        LongAdder count = errors.get(endpoint);
+        return count != null ? count.sum() : 0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.expensetracker.loadtest;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * End-to-end load test: starts a local PostgreSQL and the backend (unless pointed at
+ * existing ones), generates users and transactions, runs each scenario and reports
+ * p50/p99 latency and requests per second per endpoint.
+ *
+ * <pre>
+ * java -jar target/loadtest.jar [--users=10] [--transactions=5000] [--concurrency=50]
+ *     [--warmup=10] [--duration=30] [--scenarios=dashboard,list,summary,create] [--seed=42]
+ *     [--jdbc-url=... --db-username=... --db-password=...] [--base-url=http://host:port/api]
+ *     [--backend-jar=path/to/expense-tracker-backend-*-exec.jar] [--output=results.json]
+ * </pre>
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        HarnessOptions options = HarnessOptions.parse(args);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path runDirectory = Path.of("target", "loadtest-results", timestamp);
+
+        EmbeddedDatabase database = null;
+        BackendProcess backend = null;
+        try {
+            String baseUrl = options.baseUrl;
+            if (baseUrl == null) {
+                String jdbcUrl = options.jdbcUrl;
+                if (jdbcUrl == null) {
+                    System.out.println("Starting embedded PostgreSQL");
+                    database = EmbeddedDatabase.start();
+                    jdbcUrl = database.jdbcUrl();
+                }
+                Path jar = options.backendJar != null ? options.backendJar : BackendProcess.findJar();
+                System.out.println("Starting backend " + jar);
+                backend = BackendProcess.start(jar, jdbcUrl, options.dbUsername, options.dbPassword,
+                    runDirectory.resolve("backend.log"));
+                baseUrl = backend.baseUrl();
+            }
+
+            ApiClient client = new ApiClient(baseUrl, options.concurrency);
+            System.out.printf("Generating %d users x %d transactions%n", options.users, options.transactionsPerUser);
+            List<Session> sessions = new DataGenerator(client, options.seed)
+                .generate(options.users, options.transactionsPerUser);
+
+            Report report = new Report(options.describe());
+            ScenarioRunner runner = new ScenarioRunner(client, sessions, options.concurrency, options.seed);
+            for (Scenario scenario : options.scenarios) {
+                System.out.printf("Running %s: %d workers, %ds warmup, %ds measured%n", scenario.name().toLowerCase(),
+                    options.concurrency, options.warmup.toSeconds(), options.duration.toSeconds());
+                report.add(runner.run(scenario, options.warmup, options.duration));
+            }
+
+            report.print();
+            Path output = options.output != null ? options.output : runDirectory.resolve("results.json");
+            report.write(output);
+            System.out.println("\nResults written to " + output);
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+            if (database != null) {
+                database.close();
+            }
+        }
+        // The HTTP client's executor threads are non-daemon
+        System.exit(0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput and latency percentiles, printed as a table and written as JSON.
+ */
+final class Report {
+
+    private final Map<String, Object> options;
+    private final List<ScenarioResult> scenarios = new ArrayList<>();
+
+    Report(Map<String, Object> options) {
+        this.options = options;
+    }
+
+    void add(ScenarioResult result) {
+        scenarios.add(result);
+    }
+
+    void print() {
+        System.out.printf("%n%-10s %-36s %9s %8s %10s %10s %10s %10s%n",
+            "scenario", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (ScenarioResult scenario : scenarios) {
+            for (EndpointResult endpoint : scenario.endpoints()) {
+                System.out.printf("%-10s %-36s %9d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                    scenario.name(), endpoint.endpoint(), endpoint.requests(), endpoint.errors(),
+                    endpoint.requestsPerSecond(), endpoint.p50Millis(), endpoint.p99Millis(), endpoint.maxMillis());
+            }
+        }
+    }
+
+    void write(Path file) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("timestamp", Instant.now().toString());
+        document.put("options", options);
+        document.put("scenarios", scenarios);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+    }
+
+    record ScenarioResult(String name, double durationSeconds, long iterations, List<EndpointResult> endpoints) {
+
+        static ScenarioResult of(Scenario scenario, Duration duration, long iterations, LatencyStats stats) {
+            double seconds = duration.toMillis() / 1000.0;
+            List<EndpointResult> endpoints = new ArrayList<>();
+            stats.histograms().forEach((endpoint, histogram) ->
+                endpoints.add(EndpointResult.of(endpoint, histogram, stats.errors(endpoint), seconds)));
+            return new ScenarioResult(scenario.name().toLowerCase(), seconds, iterations, endpoints);
+        }
+    }
+
+    record EndpointResult(String endpoint, long requests, long errors, double requestsPerSecond,
+                          double p50Millis, double p99Millis, double maxMillis) {
+
+        static EndpointResult of(String endpoint, Histogram histogram, long errors, double seconds) {
+            return new EndpointResult(endpoint, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
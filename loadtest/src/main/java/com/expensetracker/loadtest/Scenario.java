@@ -0,0 +1,84 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Random;
+
+/**
+ * One iteration of user behaviour. Each request is recorded under an endpoint label, so a
+ * scenario reports latency per endpoint rather than per iteration.
+ */
+enum Scenario {
+
+    /**
+     * What the dashboard page requests on load.
+     */
+    DASHBOARD {
+        @Override
+        void iterate(ApiClient client, Session session, Random random, LatencyStats stats) throws InterruptedException {
+            client.timed("GET /transactions/summary", client.get("/transactions/summary", session.token()), stats);
+            client.timed("GET /transactions (full)", client.get("/transactions", session.token()), stats);
+        }
+    },
+
+    /**
+     * Paging through the transaction list with the cursor API.
+     */
+    LIST {
+        @Override
+        void iterate(ApiClient client, Session session, Random random, LatencyStats stats)
+                throws InterruptedException, IOException {
+            String body = client.timed("GET /transactions?limit", client.get("/transactions?limit=20", session.token()), stats);
+            for (int page = 1; page < LIST_PAGES && body != null; page++) {
+                JsonNode nextCursor = client.readTree(body).get("nextCursor");
+                if (nextCursor == null || nextCursor.isNull()) {
+                    return;
+                }
+                String after = URLEncoder.encode(nextCursor.asText(), StandardCharsets.UTF_8);
+                body = client.timed("GET /transactions?after",
+                    client.get("/transactions?limit=20&after=" + after, session.token()), stats);
+            }
+        }
+    },
+
+    /**
+     * The summary and reports views over the last year.
+     */
+    SUMMARY {
+        @Override
+        void iterate(ApiClient client, Session session, Random random, LatencyStats stats) throws InterruptedException {
+            YearMonth to = YearMonth.now();
+            YearMonth from = to.minusMonths(11);
+            client.timed("GET /transactions/summary?from&to",
+                client.get("/transactions/summary?from=" + from + "&to=" + to, session.token()), stats);
+            client.timed("GET /reports",
+                client.get("/reports?startDate=" + from.atDay(1) + "&endDate=" + to.atEndOfMonth(), session.token()), stats);
+        }
+    },
+
+    /**
+     * A burst of single transaction creates, as when catching up on receipts.
+     */
+    CREATE {
+        @Override
+        void iterate(ApiClient client, Session session, Random random, LatencyStats stats) throws InterruptedException {
+            DataGenerator generator = new DataGenerator(client, random.nextLong());
+            for (int i = 0; i < CREATE_BURST; i++) {
+                LocalDate date = LocalDate.now().minusDays(random.nextInt(30));
+                client.timed("POST /transactions",
+                    client.post("/transactions", session.token(), generator.transaction(session, date, i)), stats);
+            }
+        }
+    };
+
+    private static final int LIST_PAGES = 5;
+    private static final int CREATE_BURST = 20;
+
+    abstract void iterate(ApiClient client, Session session, Random random, LatencyStats stats)
+        throws InterruptedException, IOException;
+}
@@ -0,0 +1,65 @@
+package com.expensetracker.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives one scenario with a fixed number of closed-loop workers: each worker repeats the
+ * scenario as fast as responses come back, for a random user each time. A warmup phase runs
+ * first and is not recorded.
+ */
+final class ScenarioRunner {
+
+    private final ApiClient client;
+    private final List<Session> sessions;
+    private final int concurrency;
+    private final long seed;
+
+    ScenarioRunner(ApiClient client, List<Session> sessions, int concurrency, long seed) {
+        this.client = client;
+        this.sessions = sessions;
+        this.concurrency = concurrency;
+        this.seed = seed;
+    }
+
+    Report.ScenarioResult run(Scenario scenario, Duration warmup, Duration duration) throws Exception {
+        if (!warmup.isZero()) {
+            drive(scenario, warmup, null);
+        }
+        LatencyStats stats = new LatencyStats();
+        long iterations = drive(scenario, duration, stats);
+        return Report.ScenarioResult.of(scenario, duration, iterations, stats);
+    }
+
+    private long drive(Scenario scenario, Duration duration, LatencyStats stats) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        LongAdder iterations = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                Random random = new Random(seed + i);
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Session session = sessions.get(random.nextInt(sessions.size()));
+                        scenario.iterate(client, session, random, stats);
+                        iterations.increment();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return iterations.sum();
+    }
+}
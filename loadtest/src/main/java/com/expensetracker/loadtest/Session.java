@@ -0,0 +1,9 @@
+package com.expensetracker.loadtest;
+
+import java.util.List;
+
+/**
+ * A logged-in user and the category ids they can book transactions against.
+ */
+record Session(String username, String token, List<Long> expenseCategoryIds, List<Long> incomeCategoryIds) {
+}